@@ -0,0 +1,31 @@
+package com.bank.loanmanagement.benchmark;
+
+import com.bank.loanmanagement.LoanManagementApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the application against a private in-memory H2 database so benchmarks
+ * measure the real persistence path. Logging is turned down, otherwise the
+ * DEBUG output of the default profile dominates every measurement.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public final class H2Application {
+
+    private H2Application() {
+    }
+
+    public static ConfigurableApplicationContext start( String databaseName ) {
+        // Passed as arguments so that they take precedence over application.properties
+        return new SpringApplicationBuilder( LoanManagementApplication.class )
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework=WARN" );
+    }
+}
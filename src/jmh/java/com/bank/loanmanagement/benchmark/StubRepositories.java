@@ -0,0 +1,210 @@
+package com.bank.loanmanagement.benchmark;
+
+import com.bank.loanmanagement.model.Customer;
+import com.bank.loanmanagement.model.Loan;
+import com.bank.loanmanagement.model.LoanInstallment;
+import com.bank.loanmanagement.repository.CustomerRepository;
+import com.bank.loanmanagement.repository.ExposureBucketRepository;
+import com.bank.loanmanagement.repository.LoanInstallmentRepository;
+import com.bank.loanmanagement.repository.LoanRepository;
+import com.bank.loanmanagement.repository.OutboxEventRepository;
+import com.bank.loanmanagement.service.ExposureService;
+import com.bank.loanmanagement.service.OutboxService;
+import com.bank.loanmanagement.service.PaymentLedgerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory stand-ins for the Spring Data repositories, used to benchmark the
+ * service logic without any persistence cost. Writes only assign ids, and
+ * installment reads hand out fresh unpaid copies so that every invocation of
+ * payLoan does the same amount of work.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public final class StubRepositories {
+
+    private final Map<Long, Customer> customers = new HashMap<>();
+    private final Map<Long, Loan> loans = new HashMap<>();
+    private final Map<Long, List<LoanInstallment>> installments = new HashMap<>();
+    private long sequence = 0;
+
+    public Customer addCustomer( String username, BigDecimal creditLimit ) {
+        Customer customer = new Customer();
+        customer.setId( ++sequence );
+        customer.setUsername( username );
+        customer.setName( username );
+        customer.setSurname( username );
+        customer.setPassword( "{noop}" + username );
+        customer.setRole( "CUSTOMER" );
+        customer.setCreditLimit( creditLimit );
+        customer.setUsedCreditLimit( BigDecimal.ZERO );
+        customers.put( customer.getId(), customer );
+        return customer;
+    }
+
+    public Loan addLoan( Customer customer, List<LoanInstallment> schedule ) {
+        Loan loan = new Loan();
+        loan.setId( ++sequence );
+        loan.setCustomer( customer );
+        loan.setNumberOfInstallment( schedule.size() );
+        loans.put( loan.getId(), loan );
+        for ( LoanInstallment installment : schedule ) {
+            installment.setId( ++sequence );
+            installment.setLoan( loan );
+        }
+        installments.put( loan.getId(), schedule );
+        return loan;
+    }
+
+    public CustomerRepository customerRepository() {
+        return proxy( CustomerRepository.class, ( method, args ) -> switch ( method.getName() ) {
+            case "findById" -> Optional.ofNullable( customers.get( (Long) args[0] ) );
+            case "findByUsername" -> customers.values().stream()
+                    .filter( customer -> customer.getUsername().equals( args[0] ) )
+                    .findFirst();
+            case "save" -> args[0];
+            case "reserveCredit" -> 1;
+            default -> unsupported( method );
+        } );
+    }
+
+    public LoanRepository loanRepository() {
+        return proxy( LoanRepository.class, ( method, args ) -> switch ( method.getName() ) {
+            case "findById", "findByIdForUpdate" -> Optional.ofNullable( loans.get( (Long) args[0] ) );
+            case "save" -> {
+                Loan loan = (Loan) args[0];
+                if ( loan.getId() == null ) {
+                    loan.setId( ++sequence );
+                }
+                yield loan;
+            }
+            default -> unsupported( method );
+        } );
+    }
+
+    public LoanInstallmentRepository installmentRepository() {
+        return proxy( LoanInstallmentRepository.class, ( method, args ) -> switch ( method.getName() ) {
+            case "findByLoanId" -> freshCopies( installments.getOrDefault( (Long) args[0], List.of() ) );
+            case "findPayableInstallments" -> freshCopies( installments.getOrDefault( (Long) args[0], List.of() ) ).stream()
+                    .filter( installment -> installment.getDueDate().before( (Date) args[1] ) )
+                    .sorted( Comparator.comparing( LoanInstallment::getDueDate ) )
+                    .collect( Collectors.toList() );
+            case "countUnpaidDueFrom" -> installments.getOrDefault( (Long) args[0], List.of() ).stream()
+                    .filter( installment -> !installment.getDueDate().before( (Date) args[1] ) )
+                    .count();
+            case "save" -> args[0];
+            case "saveAll" -> args[0];
+            default -> unsupported( method );
+        } );
+    }
+
+    // Exposure bookkeeping against a repository that has no buckets and discards writes
+    public ExposureService exposureService() {
+        ExposureService exposureService = new ExposureService();
+        ReflectionTestUtils.setField( exposureService, "exposureBucketRepository",
+                proxy( ExposureBucketRepository.class, ( method, args ) -> switch ( method.getName() ) {
+                    case "findForUpdate" -> List.of();
+                    case "saveAll" -> args[0];
+                    default -> unsupported( method );
+                } ) );
+        ReflectionTestUtils.setField( exposureService, "customerRepository", customerRepository() );
+        return exposureService;
+    }
+
+    // Events are serialized as in the application, then discarded
+    public OutboxService outboxService() {
+        OutboxService outboxService = new OutboxService();
+        ReflectionTestUtils.setField( outboxService, "outboxEventRepository",
+                proxy( OutboxEventRepository.class, ( method, args ) -> switch ( method.getName() ) {
+                    case "save" -> args[0];
+                    default -> unsupported( method );
+                } ) );
+        ReflectionTestUtils.setField( outboxService, "objectMapper", new ObjectMapper() );
+        return outboxService;
+    }
+
+    // Entries are converted into batch rows as in the application, then discarded
+    public PaymentLedgerService paymentLedgerService() {
+        PaymentLedgerService paymentLedgerService = new PaymentLedgerService();
+        ReflectionTestUtils.setField( paymentLedgerService, "jdbcTemplate", new JdbcTemplate() {
+            @Override
+            public int[] batchUpdate( String sql, List<Object[]> batchArgs ) {
+                return new int[batchArgs.size()];
+            }
+        } );
+        return paymentLedgerService;
+    }
+
+    // Runs transaction callbacks without a transaction
+    public PlatformTransactionManager transactionManager() {
+        return new AbstractPlatformTransactionManager() {
+            @Override
+            protected Object doGetTransaction() {
+                return new Object();
+            }
+
+            @Override
+            protected void doBegin( Object transaction, TransactionDefinition definition ) {
+            }
+
+            @Override
+            protected void doCommit( DefaultTransactionStatus status ) {
+            }
+
+            @Override
+            protected void doRollback( DefaultTransactionStatus status ) {
+            }
+        };
+    }
+
+    private static List<LoanInstallment> freshCopies( List<LoanInstallment> schedule ) {
+        List<LoanInstallment> copies = new ArrayList<>( schedule.size() );
+        for ( LoanInstallment installment : schedule ) {
+            copies.add( new LoanInstallment( installment.getId(), installment.getAmount(), BigDecimal.ZERO,
+                    installment.getDueDate(), null, false, 0, BigDecimal.ZERO, installment.getLoan() ) );
+        }
+        return copies;
+    }
+
+    private interface Handler {
+        Object handle( Method method, Object[] args );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static <T> T proxy( Class<T> type, Handler handler ) {
+        return (T) Proxy.newProxyInstance( type.getClassLoader(), new Class<?>[]{ type }, ( proxy, method, args ) -> {
+            if ( method.getDeclaringClass() == Object.class ) {
+                return switch ( method.getName() ) {
+                    case "hashCode" -> System.identityHashCode( proxy );
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + "Stub";
+                };
+            }
+            return handler.handle( method, args );
+        } );
+    }
+
+    private static Object unsupported( Method method ) {
+        throw new UnsupportedOperationException( "Not stubbed: " + method.getName() );
+    }
+}
@@ -0,0 +1,107 @@
+package com.bank.loanmanagement.config;
+
+import com.bank.loanmanagement.benchmark.H2Application;
+import com.bank.loanmanagement.benchmark.StubRepositories;
+import com.bank.loanmanagement.model.Customer;
+import com.bank.loanmanagement.repository.CustomerRepository;
+import com.bank.loanmanagement.util.JwtUtil;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating a request with a bearer token, i.e. token parsing,
+ * user lookup and security context population.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@State( Scope.Thread )
+@BenchmarkMode( { Mode.Throughput, Mode.SampleTime } )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class JwtRequestFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = ( request, response ) -> {
+    };
+
+    @Param( { "stub", "h2" } )
+    public String backend;
+
+    @Param( { "100", "10000" } )
+    public int portfolioSize;
+
+    private ConfigurableApplicationContext context;
+    private JwtRequestFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup( Level.Trial )
+    public void setUp() {
+        JwtUtil jwtUtil;
+        MyUserDetailsService userDetailsService;
+
+        if ( "h2".equals( backend ) ) {
+            context = H2Application.start( "authentication" );
+            filter = context.getBean( JwtRequestFilter.class );
+            jwtUtil = context.getBean( JwtUtil.class );
+            userDetailsService = context.getBean( MyUserDetailsService.class );
+            CustomerRepository customerRepository = context.getBean( CustomerRepository.class );
+            for ( int i = 0; i < portfolioSize; i++ ) {
+                Customer customer = new Customer();
+                customer.setUsername( "bench" + i );
+                customer.setPassword( "{noop}bench" + i );
+                customer.setRole( "CUSTOMER" );
+                customer.setCreditLimit( new BigDecimal( "50000" ) );
+                customerRepository.save( customer );
+            }
+        } else {
+            StubRepositories stubs = new StubRepositories();
+            for ( int i = 0; i < portfolioSize; i++ ) {
+                stubs.addCustomer( "bench" + i, new BigDecimal( "50000" ) );
+            }
+            jwtUtil = new JwtUtil();
+            userDetailsService = new MyUserDetailsService();
+            ReflectionTestUtils.setField( userDetailsService, "customerRepository", stubs.customerRepository() );
+            filter = new JwtRequestFilter();
+            ReflectionTestUtils.setField( filter, "userDetailsService", userDetailsService );
+            ReflectionTestUtils.setField( filter, "jwtUtil", jwtUtil );
+            ReflectionTestUtils.setField( filter, "authenticationCache", new AuthenticationCache( jwtUtil, 10000, Duration.ofMinutes( 5 ) ) );
+        }
+
+        // Authenticate as the customer inserted last, the worst case for a linear lookup
+        String token = jwtUtil.generateToken( userDetailsService.loadUserByUsername( "bench" + ( portfolioSize - 1 ) ) );
+        request = new MockHttpServletRequest( "GET", "/loans/my-loans" );
+        request.addHeader( "Authorization", "Bearer " + token );
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown() {
+        if ( context != null ) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Object doFilterInternal() throws Exception {
+        try {
+            filter.doFilter( request, response, NO_OP_CHAIN );
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+            request.clearAttributes();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.benchmark.H2Application;
+import com.bank.loanmanagement.benchmark.StubRepositories;
+import com.bank.loanmanagement.dto.LoanRequestDto;
+import com.bank.loanmanagement.dto.LoanResponseDto;
+import com.bank.loanmanagement.model.Customer;
+import com.bank.loanmanagement.repository.CustomerRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loan origination throughput and latency. The portfolio size is the number of
+ * customers the requests are spread over.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@State( Scope.Benchmark )
+@BenchmarkMode( { Mode.Throughput, Mode.SampleTime } )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class LoanServiceBenchmark {
+
+    private static final BigDecimal CREDIT_LIMIT = new BigDecimal( "1000000000000" );
+
+    @Param( { "stub", "h2" } )
+    public String backend;
+
+    @Param( { "6", "9", "12", "24" } )
+    public int installmentCount;
+
+    @Param( { "100", "10000" } )
+    public int portfolioSize;
+
+    private ConfigurableApplicationContext context;
+    private LoanService loanService;
+    private LoanRequestDto[] requests;
+    private int next;
+
+    @Setup( Level.Trial )
+    public void setUp() {
+        long[] customerIds = new long[portfolioSize];
+
+        if ( "h2".equals( backend ) ) {
+            context = H2Application.start( "origination" );
+            loanService = context.getBean( LoanService.class );
+            CustomerRepository customerRepository = context.getBean( CustomerRepository.class );
+            for ( int i = 0; i < portfolioSize; i++ ) {
+                Customer customer = new Customer();
+                customer.setUsername( "bench" + i );
+                customer.setCreditLimit( CREDIT_LIMIT );
+                customer.setUsedCreditLimit( BigDecimal.ZERO );
+                customerIds[i] = customerRepository.save( customer ).getId();
+            }
+        } else {
+            StubRepositories stubs = new StubRepositories();
+            loanService = new LoanService();
+            ReflectionTestUtils.setField( loanService, "customerRepository", stubs.customerRepository() );
+            ReflectionTestUtils.setField( loanService, "loanRepository", stubs.loanRepository() );
+            ReflectionTestUtils.setField( loanService, "installmentRepository", stubs.installmentRepository() );
+            ReflectionTestUtils.setField( loanService, "exposureService", stubs.exposureService() );
+            ReflectionTestUtils.setField( loanService, "outboxService", stubs.outboxService() );
+            for ( int i = 0; i < portfolioSize; i++ ) {
+                customerIds[i] = stubs.addCustomer( "bench" + i, CREDIT_LIMIT ).getId();
+            }
+        }
+
+        requests = new LoanRequestDto[portfolioSize];
+        for ( int i = 0; i < portfolioSize; i++ ) {
+            requests[i] = new LoanRequestDto( customerIds[i], new BigDecimal( "1000" ), new BigDecimal( "0.2" ), installmentCount );
+        }
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown() {
+        if ( context != null ) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public LoanResponseDto createLoan() {
+        LoanRequestDto request = requests[next];
+        next = ( next + 1 ) % requests.length;
+        return loanService.createLoan( request );
+    }
+}
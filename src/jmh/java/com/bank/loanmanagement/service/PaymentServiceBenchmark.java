@@ -0,0 +1,205 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.benchmark.H2Application;
+import com.bank.loanmanagement.benchmark.StubRepositories;
+import com.bank.loanmanagement.dto.LoanRequestDto;
+import com.bank.loanmanagement.dto.PaymentResponseDto;
+import com.bank.loanmanagement.helpers.AdjustmentResult;
+import com.bank.loanmanagement.helpers.FixedPointAdjustments;
+import com.bank.loanmanagement.model.Customer;
+import com.bank.loanmanagement.model.LoanInstallment;
+import com.bank.loanmanagement.repository.CustomerRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payment allocation throughput and latency, plus the reward/penalty
+ * calculation on its own.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@BenchmarkMode( { Mode.Throughput, Mode.SampleTime } )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class PaymentServiceBenchmark {
+
+    private static final BigDecimal LOAN_AMOUNT = new BigDecimal( "1000" );
+    private static final BigDecimal INTEREST_RATE = new BigDecimal( "0.2" );
+
+    /**
+     * A portfolio of open loans. Every invocation pays up to three installments
+     * of the next loan in line; on H2 that loan, its ledger entries, the outbox
+     * and the exposure rows are reset beforehand so the work per invocation
+     * stays constant.
+     */
+    @State( Scope.Benchmark )
+    public static class Portfolio {
+
+        @Param( { "stub", "h2" } )
+        public String backend;
+
+        @Param( { "6", "9", "12", "24" } )
+        public int installmentCount;
+
+        @Param( { "100", "10000" } )
+        public int portfolioSize;
+
+        private ConfigurableApplicationContext context;
+        private JdbcTemplate jdbcTemplate;
+        private PaymentService paymentService;
+        private long[] loanIds;
+        // The exposure of the portfolio with every loan open, restored before each payment
+        private List<Object[]> exposureBuckets;
+        private BigDecimal paymentAmount;
+        private int next;
+        private long loanId;
+
+        @Setup( Level.Trial )
+        public void setUp() {
+            loanIds = new long[portfolioSize];
+            BigDecimal installmentAmount = LOAN_AMOUNT.multiply( BigDecimal.ONE.add( INTEREST_RATE ) )
+                    .divide( BigDecimal.valueOf( installmentCount ), 2, RoundingMode.HALF_UP );
+            paymentAmount = installmentAmount.multiply( BigDecimal.valueOf( 3 ) );
+
+            if ( "h2".equals( backend ) ) {
+                context = H2Application.start( "payment" );
+                jdbcTemplate = context.getBean( JdbcTemplate.class );
+                paymentService = context.getBean( PaymentService.class );
+                LoanService loanService = context.getBean( LoanService.class );
+
+                Customer customer = new Customer();
+                customer.setUsername( "bench" );
+                customer.setCreditLimit( new BigDecimal( "1000000000000" ) );
+                customer.setUsedCreditLimit( BigDecimal.ZERO );
+                customer = context.getBean( CustomerRepository.class ).save( customer );
+
+                for ( int i = 0; i < portfolioSize; i++ ) {
+                    loanIds[i] = loanService.createLoan(
+                            new LoanRequestDto( customer.getId(), LOAN_AMOUNT, INTEREST_RATE, installmentCount ) ).getLoanId();
+                }
+                exposureBuckets = jdbcTemplate.query( "SELECT unpaid_amount, unpaid_count, id FROM exposure_bucket",
+                        ( row, rowNumber ) -> new Object[]{ row.getBigDecimal( 1 ), row.getInt( 2 ), row.getLong( 3 ) } );
+            } else {
+                StubRepositories stubs = new StubRepositories();
+                paymentService = new PaymentService();
+                ReflectionTestUtils.setField( paymentService, "loanRepository", stubs.loanRepository() );
+                ReflectionTestUtils.setField( paymentService, "installmentRepository", stubs.installmentRepository() );
+                ReflectionTestUtils.setField( paymentService, "transactionManager", stubs.transactionManager() );
+                ReflectionTestUtils.setField( paymentService, "exposureService", stubs.exposureService() );
+                ReflectionTestUtils.setField( paymentService, "quoteCache", new PaymentQuoteCache( 10000, Duration.ofMinutes( 1 ) ) );
+                ReflectionTestUtils.setField( paymentService, "outboxService", stubs.outboxService() );
+                ReflectionTestUtils.setField( paymentService, "paymentLedgerService", stubs.paymentLedgerService() );
+
+                Customer customer = stubs.addCustomer( "bench", new BigDecimal( "1000000000000" ) );
+                for ( int i = 0; i < portfolioSize; i++ ) {
+                    loanIds[i] = stubs.addLoan( customer, schedule( installmentAmount, installmentCount ) ).getId();
+                }
+            }
+        }
+
+        @Setup( Level.Invocation )
+        public void nextLoan() {
+            loanId = loanIds[next];
+            next = ( next + 1 ) % loanIds.length;
+            if ( jdbcTemplate != null ) {
+                jdbcTemplate.update( "UPDATE loan_installment SET is_paid = FALSE, paid_amount = 0, payment_date = NULL WHERE loan_id = ?", loanId );
+                jdbcTemplate.update( "UPDATE loan SET is_paid = FALSE WHERE id = ?", loanId );
+                // Undo what earlier payments wrote elsewhere, so the tables a payment touches do not grow during the run
+                jdbcTemplate.update( "DELETE FROM payment_ledger_entry WHERE loan_id = ?", loanId );
+                jdbcTemplate.update( "DELETE FROM outbox_event" );
+                jdbcTemplate.batchUpdate( "UPDATE exposure_bucket SET unpaid_amount = ?, unpaid_count = ? WHERE id = ?", exposureBuckets );
+            }
+        }
+
+        @TearDown( Level.Trial )
+        public void tearDown() {
+            if ( context != null ) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * A single installment paid early, on time or late.
+     */
+    @State( Scope.Thread )
+    public static class Adjustment {
+
+        @Param( { "-30", "0", "30" } )
+        public int daysBeforeDue;
+
+        private final PaymentService paymentService = new PaymentService();
+        private final TimeZone timeZone = TimeZone.getDefault();
+        private LoanInstallment installment;
+        private LocalDate paymentDate;
+        private long paymentEpochDay;
+
+        @Setup( Level.Trial )
+        public void setUp() {
+            paymentDate = paymentService.today();
+            installment = new LoanInstallment();
+            installment.setAmount( new BigDecimal( "1916.67" ) );
+            installment.setDueDate( toDate( paymentDate.plusDays( daysBeforeDue ) ) );
+            paymentEpochDay = paymentDate.toEpochDay();
+        }
+    }
+
+    @Benchmark
+    public PaymentResponseDto payLoan( Portfolio portfolio ) {
+        return portfolio.paymentService.payLoan( portfolio.loanId, portfolio.paymentAmount );
+    }
+
+    @Benchmark
+    @BenchmarkMode( { Mode.Throughput, Mode.AverageTime } )
+    @OutputTimeUnit( TimeUnit.MICROSECONDS )
+    public AdjustmentResult calculateAdjustedAmount( Adjustment adjustment ) {
+        return adjustment.paymentService.calculateAdjustedAmount( adjustment.installment, adjustment.paymentDate );
+    }
+
+    // The same rules in whole cents, as applied on the payment path
+    @Benchmark
+    @BenchmarkMode( { Mode.Throughput, Mode.AverageTime } )
+    @OutputTimeUnit( TimeUnit.MICROSECONDS )
+    public void calculateAdjustedCents( Adjustment adjustment, Blackhole blackhole ) {
+        long cents = FixedPointAdjustments.toCents( adjustment.installment.getAmount() );
+        long daysUntilDue = FixedPointAdjustments.daysUntilDue( adjustment.installment.getDueDate(), adjustment.paymentEpochDay, adjustment.timeZone );
+        blackhole.consume( FixedPointAdjustments.adjustedCents( cents, daysUntilDue ) );
+        blackhole.consume( FixedPointAdjustments.discountCents( cents, daysUntilDue ) );
+        blackhole.consume( FixedPointAdjustments.penaltyCents( cents, daysUntilDue ) );
+    }
+
+    private static List<LoanInstallment> schedule( BigDecimal amount, int count ) {
+        List<LoanInstallment> installments = new ArrayList<>( count );
+        LocalDate dueDate = LocalDate.now().withDayOfMonth( 1 ).plusMonths( 1 );
+        for ( int i = 0; i < count; i++ ) {
+            LoanInstallment installment = new LoanInstallment();
+            installment.setAmount( amount );
+            installment.setDueDate( toDate( dueDate ) );
+            installments.add( installment );
+            dueDate = dueDate.plusMonths( 1 );
+        }
+        return installments;
+    }
+
+    private static Date toDate( LocalDate date ) {
+        return Date.from( date.atStartOfDay( ZoneId.systemDefault() ).toInstant() );
+    }
+}
@@ -0,0 +1,99 @@
+package com.bank.loanmanagement.config;
+
+import com.bank.loanmanagement.util.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Keeps the work of authenticating a bearer token off the request path: tokens
+ * are parsed and verified once and then remembered until they expire, and the
+ * user behind them is remembered for a short while. Users are evicted when
+ * their customer record changes. Only cache misses reach the timers, which
+ * therefore measure the verification and lookup work itself.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Component
+public class AuthenticationCache {
+
+    private static final Timer JWT_VERIFICATION_TIMER = Timer.builder( "auth.jwt.verification" )
+            .description( "Time spent parsing and verifying a bearer token" )
+            .publishPercentileHistogram()
+            .register( Metrics.globalRegistry );
+    private static final Timer USER_LOOKUP_TIMER = Timer.builder( "auth.user.lookup" )
+            .description( "Time spent loading the user behind a token" )
+            .publishPercentileHistogram()
+            .register( Metrics.globalRegistry );
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, Claims> verifiedTokens;
+    private final Cache<String, UserDetails> users;
+
+    public AuthenticationCache(
+            JwtUtil jwtUtil,
+            @Value( "${loan.security.authentication-cache.size:10000}" ) long size,
+            @Value( "${loan.security.authentication-cache.user-ttl:5m}" ) Duration userTtl ) {
+        this.jwtUtil = jwtUtil;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize( size )
+                .expireAfter( new TokenExpiry() )
+                .recordStats()
+                .build();
+        this.users = Caffeine.newBuilder()
+                .maximumSize( size )
+                .expireAfterWrite( userTtl )
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor( Metrics.globalRegistry, verifiedTokens, "auth.tokens" );
+        CaffeineCacheMetrics.monitor( Metrics.globalRegistry, users, "auth.users" );
+    }
+
+    /**
+     * Returns the verified claims of the token. Invalid or expired tokens are
+     * rejected by the parser exactly as before and never cached.
+     */
+    public Claims verifiedClaims( String token ) {
+        return verifiedTokens.get( token, key -> JWT_VERIFICATION_TIMER.record( () -> jwtUtil.extractAllClaims( key ) ) );
+    }
+
+    public UserDetails userDetails( String username, Function<String, UserDetails> loader ) {
+        return users.get( username, key -> USER_LOOKUP_TIMER.record( () -> loader.apply( key ) ) );
+    }
+
+    public void evictUser( String username ) {
+        users.invalidate( username );
+    }
+
+    // A verified token is only kept until it expires
+    private static class TokenExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate( String token, Claims claims, long currentTime ) {
+            long millisLeft = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos( Math.max( millisLeft, 0 ) );
+        }
+
+        @Override
+        public long expireAfterUpdate( String token, Claims claims, long currentTime, long currentDuration ) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead( String token, Claims claims, long currentTime, long currentDuration ) {
+            return currentDuration;
+        }
+    }
+}
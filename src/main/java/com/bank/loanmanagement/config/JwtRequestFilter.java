@@ -1,6 +1,7 @@
 package com.bank.loanmanagement.config;
 
 import com.bank.loanmanagement.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,6 +30,9 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private AuthenticationCache authenticationCache;
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -38,18 +42,19 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         final String authorizationHeader = request.getHeader( "Authorization" );
 
         String username = null;
-        String jwt = null;
+        Claims claims = null;
 
         // JWT must be in "Bearer token" format
         if ( authorizationHeader != null && authorizationHeader.startsWith( "Bearer " ) ) {
-            jwt = authorizationHeader.substring( 7 ); // Skip the word "Bearer"
-            username = jwtUtil.extractUsername( jwt );
+            String jwt = authorizationHeader.substring( 7 ); // Skip the word "Bearer"
+            claims = authenticationCache.verifiedClaims( jwt ); // Parsed and verified once per token
+            username = claims.getSubject();
         }
 
         if ( username != null && SecurityContextHolder.getContext().getAuthentication() == null ) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername( username );
+            UserDetails userDetails = authenticationCache.userDetails( username, userDetailsService::loadUserByUsername );
 
-            if ( jwtUtil.validateToken( jwt, userDetails ) ) {
+            if ( jwtUtil.validateToken( claims, userDetails ) ) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities() );
                 authToken.setDetails( new WebAuthenticationDetailsSource().buildDetails( request ) );
@@ -0,0 +1,22 @@
+package com.bank.loanmanagement.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Records the service methods annotated with @Timed.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect( MeterRegistry registry ) {
+        return new TimedAspect( registry );
+    }
+}
@@ -0,0 +1,37 @@
+package com.bank.loanmanagement.config;
+
+import com.bank.loanmanagement.util.FileOutboxSink;
+import com.bank.loanmanagement.util.InMemoryOutboxSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * The sink outbox events are published to, chosen by loan.outbox.sink: "file"
+ * appends JSON lines to loan.outbox.file, "memory" keeps them in memory.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Configuration
+public class OutboxConfig {
+
+    @Bean( destroyMethod = "close" )
+    @ConditionalOnProperty( name = "loan.outbox.sink", havingValue = "file", matchIfMissing = true )
+    public FileOutboxSink fileOutboxSink( @Value( "${loan.outbox.file:outbox/events.ndjson}" ) Path file,
+                                          ObjectMapper objectMapper ) throws IOException {
+        return new FileOutboxSink( file, objectMapper );
+    }
+
+    @Bean
+    @ConditionalOnProperty( name = "loan.outbox.sink", havingValue = "memory" )
+    public InMemoryOutboxSink inMemoryOutboxSink() {
+        return new InMemoryOutboxSink();
+    }
+}
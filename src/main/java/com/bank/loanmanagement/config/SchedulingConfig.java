@@ -0,0 +1,17 @@
+package com.bank.loanmanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the @Scheduled jobs, e.g. the nightly delinquency run. A job is turned
+ * off by setting its cron expression to "-".
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,82 @@
+package com.bank.loanmanagement.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level and query cache for customers and loans, kept in
+ * Caffeine caches local to this instance. Hibernate updates or evicts cached
+ * entities when it writes them, so reads stay consistent as long as every
+ * write goes through JPA on this instance; with several instances, or other
+ * writers to the database, leave it disabled or keep the TTL short.
+ *
+ * Hit and miss counts are published by the Hibernate statistics when they
+ * are enabled, e.g. hibernate_second_level_cache_requests_total{region="customer"}.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Regions named on the entities with @Cache
+    public static final String CUSTOMER_REGION = "customer";
+    public static final String LOAN_REGION = "loan";
+    // Regions used by Hibernate for cacheable queries
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean( destroyMethod = "close" )
+    @ConditionalOnProperty( name = "loan.cache.enabled", havingValue = "true" )
+    public CacheManager secondLevelCacheManager(
+            @Value( "${loan.cache.size:10000}" ) long size,
+            @Value( "${loan.cache.ttl:10m}" ) Duration ttl ) {
+        // A cache manager of its own, so that application contexts in the same JVM do not share entries
+        CacheManager cacheManager = Caching.getCachingProvider( CaffeineCachingProvider.class.getName() )
+                .getCacheManager( URI.create( "loan-management-" + UUID.randomUUID() ), getClass().getClassLoader() );
+
+        cacheManager.createCache( CUSTOMER_REGION, boundedRegion( size, ttl ) );
+        cacheManager.createCache( LOAN_REGION, boundedRegion( size, ttl ) );
+        cacheManager.createCache( QUERY_RESULTS_REGION, boundedRegion( size, ttl ) );
+        // One entry per table; they must outlive the query results that are checked against them
+        cacheManager.createCache( UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>() );
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer( ObjectProvider<CacheManager> secondLevelCacheManager ) {
+        CacheManager cacheManager = secondLevelCacheManager.getIfAvailable();
+        return properties -> {
+            // Hibernate finds the JCache region factory on the classpath by itself, so a disabled cache is switched off explicitly
+            properties.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, cacheManager != null );
+            properties.put( AvailableSettings.USE_QUERY_CACHE, cacheManager != null );
+            if ( cacheManager != null ) {
+                properties.put( AvailableSettings.CACHE_REGION_FACTORY, "jcache" );
+                properties.put( ConfigSettings.CACHE_MANAGER, cacheManager );
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> boundedRegion( long size, Duration ttl ) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize( OptionalLong.of( size ) );
+        configuration.setExpireAfterWrite( OptionalLong.of( ttl.toNanos() ) );
+        return configuration;
+    }
+}
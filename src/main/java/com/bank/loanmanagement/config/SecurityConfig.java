@@ -42,9 +42,11 @@ public class SecurityConfig {
         http
                 .csrf( csrf -> csrf.disable() )
                 .authorizeHttpRequests( authorize -> authorize
-                        .requestMatchers( "/authenticate", "/h2-console/**" ).permitAll()
+                        .requestMatchers( "/authenticate", "/h2-console/**", "/actuator/health" ).permitAll()
+                        // Metrics included: the client address says nothing behind a reverse proxy, so scrapers authenticate too
+                        .requestMatchers( "/actuator/**" ).hasRole( "ADMIN" )
                         .requestMatchers( "/loans/my-loans" ).hasRole( "CUSTOMER" )
-                        .requestMatchers( "/customers/**" ).hasRole( "ADMIN" )
+                        .requestMatchers( "/customers/**", "/reports/**" ).hasRole( "ADMIN" )
                         .requestMatchers( "/loans/**", "/payments/**" ).hasAnyRole( "ADMIN", "CUSTOMER" )
                         .anyRequest().authenticated()
                 )
@@ -1,20 +1,24 @@
 package com.bank.loanmanagement.controller;
 
+import com.bank.loanmanagement.config.AuthenticationCache;
 import com.bank.loanmanagement.dto.CustomerDto;
-import com.bank.loanmanagement.dto.LoanDto;
+import com.bank.loanmanagement.dto.KeysetPageDto;
 import com.bank.loanmanagement.exception.DuplicateUsernameException;
 import com.bank.loanmanagement.exception.ResourceNotFoundException;
 import com.bank.loanmanagement.model.Customer;
-import com.bank.loanmanagement.model.Loan;
 import com.bank.loanmanagement.repository.CustomerRepository;
+import com.bank.loanmanagement.service.CustomerService;
+import com.bank.loanmanagement.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Fg
@@ -33,12 +37,37 @@ public class CustomerController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private AuthenticationCache authenticationCache;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // List all clients (allow only ADMIN role)
     @GetMapping
     @PreAuthorize( "hasRole('ADMIN')" )
     public List<CustomerDto> getAllCustomers() {
-        List<Customer> customers = customerRepository.findAll();
-        return customers.stream().map( this::convertToDto ).collect( Collectors.toList() );
+        return customerService.getAllCustomers();
+    }
+
+    // List clients one page at a time, ordered by id (allow only ADMIN role)
+    @GetMapping( params = "size" )
+    @PreAuthorize( "hasRole('ADMIN')" )
+    public KeysetPageDto<CustomerDto> getAllCustomers( @RequestParam( required = false ) Long afterId, @RequestParam int size ) {
+        return customerService.getAllCustomers( afterId, size );
+    }
+
+    // Stream all clients as JSON lines (allow only ADMIN role)
+    @GetMapping( "/stream" )
+    @PreAuthorize( "hasRole('ADMIN')" )
+    public void streamAllCustomers( HttpServletResponse response ) throws IOException {
+        response.setContentType( NdjsonWriter.MEDIA_TYPE );
+        NdjsonWriter writer = new NdjsonWriter( response.getOutputStream(), objectMapper );
+        customerService.streamAllCustomers( writer::write );
+        writer.flush();
     }
 
     // Create a client (allow only ADMIN role)
@@ -79,6 +108,7 @@ public class CustomerController {
     public Customer updateCustomer( @PathVariable Long id, @RequestBody Customer customerDetails ) {
         Customer customer = customerRepository.findById( id )
                 .orElseThrow( () -> new ResourceNotFoundException( "Customer not found" ) );
+        String previousUsername = customer.getUsername();
 
         customer.setName( customerDetails.getName() );
         customer.setSurname( customerDetails.getSurname() );
@@ -86,46 +116,19 @@ public class CustomerController {
         customer.setCreditLimit( customerDetails.getCreditLimit() );
         customer.setUsedCreditLimit( customerDetails.getUsedCreditLimit() );
 
-        return customerRepository.save( customer );
+        Customer savedCustomer = customerRepository.save( customer );
+        // Drop the cached user so that authenticated requests see the change
+        authenticationCache.evictUser( previousUsername );
+        return savedCustomer;
     }
 
     // Delete client (allow only ADMIN role)
     @DeleteMapping( "/{id}" )
     @PreAuthorize( "hasRole('ADMIN')" )
     public String deleteCustomer( @PathVariable Long id ) {
-        Customer customer = customerRepository.findById( id )
-                .orElseThrow( () -> new ResourceNotFoundException( "Customer not found" ) );
-
-        customerRepository.delete( customer );
+        Customer customer = customerService.deleteCustomer( id );
+        authenticationCache.evictUser( customer.getUsername() );
         return "Customer deleted: " + id;
     }
 
-
-    private CustomerDto convertToDto( Customer customer ) {
-        CustomerDto customerDto = new CustomerDto();
-        customerDto.setId( customer.getId() );
-        customerDto.setName( customer.getName() );
-        customerDto.setSurname( customer.getSurname() );
-        customerDto.setUsername( customer.getUsername() );
-        customerDto.setCreditLimit( customer.getCreditLimit() );
-        customerDto.setUsedCreditLimit( customer.getUsedCreditLimit() );
-
-        // Converting loans
-        List<LoanDto> loanDtos = customer.getLoans().stream().map( this::convertLoanToDto ).collect( Collectors.toList() );
-        customerDto.setLoans( loanDtos );
-        return customerDto;
-    }
-
-    private LoanDto convertLoanToDto( Loan loan ) {
-        LoanDto loanDto = new LoanDto();
-        loanDto.setId( loan.getId() );
-        loanDto.setLoanAmount( loan.getLoanAmount() );
-        loanDto.setTotalAmount( loan.getTotalAmount() );
-        loanDto.setNumberOfInstallment( loan.getNumberOfInstallment() );
-        loanDto.setCreateDate( loan.getCreateDate() );
-        loanDto.setPaid( loan.isPaid() );
-
-        return loanDto;
-    }
-
 }
\ No newline at end of file
@@ -1,20 +1,41 @@
 package com.bank.loanmanagement.controller;
 
 import com.bank.loanmanagement.dto.InstallmentDto;
+import com.bank.loanmanagement.dto.KeysetPageDto;
+import com.bank.loanmanagement.dto.LoanApplicationDto;
 import com.bank.loanmanagement.dto.LoanRequestDto;
 import com.bank.loanmanagement.dto.LoanResponseDto;
+import com.bank.loanmanagement.dto.PaymentQuoteDto;
 import com.bank.loanmanagement.dto.PaymentResponseDto;
+import com.bank.loanmanagement.exception.InvalidParameterException;
 import com.bank.loanmanagement.exception.ResourceNotFoundException;
 import com.bank.loanmanagement.model.Customer;
 import com.bank.loanmanagement.repository.CustomerRepository;
+import com.bank.loanmanagement.service.BulkOriginationService;
+import com.bank.loanmanagement.service.LoanOriginationService;
 import com.bank.loanmanagement.service.LoanService;
+import com.bank.loanmanagement.service.PaymentService;
+import com.bank.loanmanagement.util.CsvWriter;
+import com.bank.loanmanagement.util.LoanRequestReader;
+import com.bank.loanmanagement.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.net.URI;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * @author Sayat Ertüfenk
@@ -24,17 +45,62 @@ import java.util.List;
 @RestController
 @RequestMapping( "/loans" )
 public class LoanController {
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     @Autowired
     private LoanService loanService;
 
+    @Autowired
+    private LoanOriginationService loanOriginationService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private BulkOriginationService bulkOriginationService;
+
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     public LoanResponseDto createLoan( @RequestBody LoanRequestDto request ) {
         return loanService.createLoan( request );
     }
 
+    // Accept a loan application to be processed in the background, returns a tracking id
+    @PostMapping( "/async" )
+    public ResponseEntity<LoanApplicationDto> submitLoanApplication( @RequestBody LoanRequestDto request ) {
+        LoanApplicationDto application = loanOriginationService.submit( request );
+        return ResponseEntity.accepted()
+                .location( URI.create( "/loans/async/" + application.getApplicationId() ) )
+                .body( application );
+    }
+
+    // Originate the loans of a portfolio file (CSV or JSON lines) - Allow only ADMIN role
+    @PostMapping( value = "/bulk", consumes = { CsvWriter.MEDIA_TYPE, NdjsonWriter.MEDIA_TYPE } )
+    @PreAuthorize( "hasRole('ADMIN')" )
+    public void createLoans( HttpServletRequest request, HttpServletResponse response ) throws IOException {
+        BufferedReader reader = request.getReader();
+        LoanRequestReader rows = request.getContentType().startsWith( CsvWriter.MEDIA_TYPE )
+                ? LoanRequestReader.csv( reader )
+                : LoanRequestReader.jsonLines( reader, objectMapper );
+
+        response.setContentType( NdjsonWriter.MEDIA_TYPE );
+        NdjsonWriter writer = new NdjsonWriter( response.getOutputStream(), objectMapper );
+
+        // Results are written as soon as their chunk has been committed
+        bulkOriginationService.createLoans( rows, writer::write );
+        writer.flush();
+    }
+
+    @GetMapping( "/async/{applicationId}" )
+    public LoanApplicationDto getLoanApplication( @PathVariable String applicationId ) {
+        return loanOriginationService.getApplication( applicationId );
+    }
+
     // List all credits - Allow only ADMIN role
     @GetMapping( "/all" )
     @PreAuthorize( "hasRole('ADMIN')" )
@@ -42,6 +108,64 @@ public class LoanController {
         return loanService.getAllLoans();
     }
 
+    // List all credits one page at a time, ordered by id - Allow only ADMIN role
+    @GetMapping( value = "/all", params = "size" )
+    @PreAuthorize( "hasRole('ADMIN')" )
+    public KeysetPageDto<LoanResponseDto> getAllLoans( @RequestParam( required = false ) Long afterId, @RequestParam int size ) {
+        return loanService.getAllLoans( afterId, size );
+    }
+
+    // Stream all credits as JSON lines - Allow only ADMIN role
+    @GetMapping( "/all/stream" )
+    @PreAuthorize( "hasRole('ADMIN')" )
+    public void streamAllLoans( HttpServletResponse response ) throws IOException {
+        response.setContentType( NdjsonWriter.MEDIA_TYPE );
+        NdjsonWriter writer = new NdjsonWriter( response.getOutputStream(), objectMapper );
+        loanService.streamAllLoans( writer::write );
+        writer.flush();
+    }
+
+    // Export all installments as CSV or JSON lines, gzipped if the client accepts it - Allow only ADMIN role
+    @GetMapping( "/installments/export" )
+    @PreAuthorize( "hasRole('ADMIN')" )
+    public void exportLedger( @RequestParam( defaultValue = "csv" ) String format,
+                              @RequestHeader( value = HttpHeaders.ACCEPT_ENCODING, required = false ) String acceptEncoding,
+                              HttpServletResponse response ) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase( format );
+        if ( !csv && !"ndjson".equalsIgnoreCase( format ) ) {
+            throw new InvalidParameterException( "Format should be csv or ndjson" );
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains( "gzip" );
+
+        response.setContentType( csv ? CsvWriter.MEDIA_TYPE : NdjsonWriter.MEDIA_TYPE );
+        response.setCharacterEncoding( "UTF-8" );
+        response.setHeader( HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"installments." + ( csv ? "csv" : "ndjson" ) + "\"" );
+        if ( gzip ) {
+            response.setHeader( HttpHeaders.CONTENT_ENCODING, "gzip" );
+        }
+        response.setHeader( HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING );
+
+        // Rows are written as they are read; only the buffers are held in memory
+        OutputStream outputStream = gzip
+                ? new GZIPOutputStream( response.getOutputStream(), EXPORT_BUFFER_SIZE )
+                : response.getOutputStream();
+        try ( OutputStream output = new BufferedOutputStream( outputStream, EXPORT_BUFFER_SIZE ) ) {
+            if ( csv ) {
+                CsvWriter writer = new CsvWriter( output );
+                writer.writeRow( "installmentId", "loanId", "customerId", "amount", "paidAmount", "dueDate", "paymentDate", "paid",
+                        "daysPastDue", "accruedPenalty" );
+                loanService.exportLedger( entry -> writer.writeRow( entry.getInstallmentId(), entry.getLoanId(), entry.getCustomerId(),
+                        entry.getAmount(), entry.getPaidAmount(), entry.getDueDate(), entry.getPaymentDate(), entry.isPaid(),
+                        entry.getDaysPastDue(), entry.getAccruedPenalty() ) );
+                writer.flush();
+            } else {
+                NdjsonWriter writer = new NdjsonWriter( output, objectMapper );
+                loanService.exportLedger( writer::write );
+                writer.flush();
+            }
+        }
+    }
+
     // List customer's own credits - Allow CUSTOMER role
     @GetMapping( "/my-loans" )
     @PreAuthorize( "hasRole('CUSTOMER')" )
@@ -61,8 +185,15 @@ public class LoanController {
         return loanService.listInstallments( loanId );
     }
 
+    // What paying the loan today would cost, without paying it
+    @GetMapping( "/{loanId}/quote" )
+    public PaymentQuoteDto quoteLoan( @PathVariable Long loanId ) {
+        return paymentService.quoteLoan( loanId );
+    }
+
     @PostMapping( "/{loanId}/pay" )
-    public PaymentResponseDto payLoan( @PathVariable Long loanId, @RequestParam BigDecimal amount ) {
-        return loanService.payLoan( loanId, amount );
+    public PaymentResponseDto payLoan( @PathVariable Long loanId, @RequestParam BigDecimal amount,
+                                       @RequestHeader( value = "Idempotency-Key", required = false ) String idempotencyKey ) {
+        return loanService.payLoan( loanId, amount, idempotencyKey );
     }
 }
\ No newline at end of file
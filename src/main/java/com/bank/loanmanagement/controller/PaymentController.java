@@ -1,10 +1,20 @@
 package com.bank.loanmanagement.controller;
 
 import com.bank.loanmanagement.dto.PaymentResponseDto;
-import com.bank.loanmanagement.service.PaymentService;
+import com.bank.loanmanagement.service.BatchPaymentService;
+import com.bank.loanmanagement.service.IdempotentPaymentService;
+import com.bank.loanmanagement.util.BatchPaymentReader;
+import com.bank.loanmanagement.util.CsvWriter;
+import com.bank.loanmanagement.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.math.BigDecimal;
 
 /**
@@ -16,10 +26,34 @@ import java.math.BigDecimal;
 @RequestMapping( "/payments" )
 public class PaymentController {
     @Autowired
-    private PaymentService paymentService;
+    private IdempotentPaymentService idempotentPaymentService;
+
+    @Autowired
+    private BatchPaymentService batchPaymentService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @PostMapping( "/loan/{loanId}" )
-    public PaymentResponseDto payLoan( @PathVariable Long loanId, @RequestParam BigDecimal amount ) {
-        return paymentService.payLoan( loanId, amount );
+    public PaymentResponseDto payLoan( @PathVariable Long loanId, @RequestParam BigDecimal amount,
+                                       @RequestHeader( value = "Idempotency-Key", required = false ) String idempotencyKey ) {
+        return idempotentPaymentService.payLoan( loanId, amount, idempotencyKey );
+    }
+
+    // Apply a payment file (CSV or JSON lines) - Allow only ADMIN role
+    @PostMapping( value = "/batch", consumes = { CsvWriter.MEDIA_TYPE, NdjsonWriter.MEDIA_TYPE } )
+    @PreAuthorize( "hasRole('ADMIN')" )
+    public void payLoans( HttpServletRequest request, HttpServletResponse response ) throws IOException {
+        BufferedReader reader = request.getReader();
+        BatchPaymentReader rows = request.getContentType().startsWith( CsvWriter.MEDIA_TYPE )
+                ? BatchPaymentReader.csv( reader )
+                : BatchPaymentReader.jsonLines( reader, objectMapper );
+
+        response.setContentType( NdjsonWriter.MEDIA_TYPE );
+        NdjsonWriter writer = new NdjsonWriter( response.getOutputStream(), objectMapper );
+
+        // Results are written as soon as their chunk has been committed
+        batchPaymentService.payLoans( rows, result -> writer.write( result ) );
+        writer.flush();
     }
-}
\ No newline at end of file
+}
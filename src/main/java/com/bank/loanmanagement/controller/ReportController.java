@@ -0,0 +1,77 @@
+package com.bank.loanmanagement.controller;
+
+import com.bank.loanmanagement.dto.DelinquencyRunDto;
+import com.bank.loanmanagement.dto.ExposureDto;
+import com.bank.loanmanagement.dto.KeysetPageDto;
+import com.bank.loanmanagement.dto.LedgerReplayDto;
+import com.bank.loanmanagement.dto.PaymentLedgerEntryDto;
+import com.bank.loanmanagement.service.DelinquencyService;
+import com.bank.loanmanagement.service.ExposureService;
+import com.bank.loanmanagement.service.PaymentLedgerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@RestController
+@RequestMapping( "/reports" )
+public class ReportController {
+
+    @Autowired
+    private ExposureService exposureService;
+
+    @Autowired
+    private DelinquencyService delinquencyService;
+
+    @Autowired
+    private PaymentLedgerService paymentLedgerService;
+
+    // Outstanding and overdue amounts of the whole portfolio (allow only ADMIN role)
+    @GetMapping( "/exposure" )
+    @PreAuthorize( "hasRole('ADMIN')" )
+    public ExposureDto getPortfolioExposure() {
+        return exposureService.getPortfolioExposure();
+    }
+
+    // Customers with unpaid installments one page at a time, ordered by id (allow only ADMIN role)
+    @GetMapping( "/exposure/customers" )
+    @PreAuthorize( "hasRole('ADMIN')" )
+    public KeysetPageDto<ExposureDto> getCustomerExposures( @RequestParam( required = false ) Long afterId,
+                                                            @RequestParam( defaultValue = "100" ) int size ) {
+        return exposureService.getCustomerExposures( afterId, size );
+    }
+
+    // Outstanding and overdue amounts of a customer (allow only ADMIN role)
+    @GetMapping( "/exposure/customers/{customerId}" )
+    @PreAuthorize( "hasRole('ADMIN')" )
+    public ExposureDto getCustomerExposure( @PathVariable Long customerId ) {
+        return exposureService.getCustomerExposure( customerId );
+    }
+
+    // Update days past due and accrued penalties now instead of waiting for the nightly run (allow only ADMIN role)
+    @PostMapping( "/delinquency" )
+    @PreAuthorize( "hasRole('ADMIN')" )
+    public DelinquencyRunDto runDelinquency() {
+        return delinquencyService.run();
+    }
+
+    // Every installment settlement of a loan, in the order it was recorded (allow only ADMIN role)
+    @GetMapping( "/ledger/loans/{loanId}" )
+    @PreAuthorize( "hasRole('ADMIN')" )
+    public List<PaymentLedgerEntryDto> getLoanLedger( @PathVariable Long loanId ) {
+        return paymentLedgerService.getLoanLedger( loanId );
+    }
+
+    // Check the paid state of the installments against the payment ledger, optionally repairing it (allow only ADMIN role)
+    @PostMapping( "/ledger/replay" )
+    @PreAuthorize( "hasRole('ADMIN')" )
+    public LedgerReplayDto replayLedger( @RequestParam( defaultValue = "false" ) boolean repair ) {
+        return paymentLedgerService.replay( repair );
+    }
+}
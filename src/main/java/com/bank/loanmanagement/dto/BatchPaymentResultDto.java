@@ -0,0 +1,28 @@
+package com.bank.loanmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPaymentResultDto {
+    public static final String OK = "OK";
+    public static final String FAILED = "FAILED";
+
+    private long line;
+    private Long loanId;
+    private String status;
+    private String message;
+    private PaymentResponseDto payment;
+
+    public static BatchPaymentResultDto failed( BatchPaymentRowDto row, String message ) {
+        return new BatchPaymentResultDto( row.getLine(), row.getLoanId(), FAILED, message, null );
+    }
+}
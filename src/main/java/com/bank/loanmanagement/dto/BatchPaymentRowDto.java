@@ -0,0 +1,23 @@
+package com.bank.loanmanagement.dto;
+
+import com.bank.loanmanagement.util.FileRow;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPaymentRowDto implements FileRow {
+    private long line; // Line number in the uploaded file
+    private Long loanId;
+    private BigDecimal amount;
+    private String error; // Set when the line could not be parsed
+}
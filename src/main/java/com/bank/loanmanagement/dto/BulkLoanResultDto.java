@@ -0,0 +1,29 @@
+package com.bank.loanmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkLoanResultDto {
+    public static final String OK = "OK";
+    public static final String FAILED = "FAILED";
+
+    private long line;
+    private Long customerId;
+    private String status;
+    private String message;
+    private LoanResponseDto loan;
+
+    public static BulkLoanResultDto failed( BulkLoanRowDto row, String message ) {
+        Long customerId = row.getRequest() != null ? row.getRequest().getCustomerId() : null;
+        return new BulkLoanResultDto( row.getLine(), customerId, FAILED, message, null );
+    }
+}
@@ -0,0 +1,20 @@
+package com.bank.loanmanagement.dto;
+
+import com.bank.loanmanagement.util.FileRow;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkLoanRowDto implements FileRow {
+    private long line; // Line number in the uploaded file
+    private LoanRequestDto request;
+    private String error; // Set when the line could not be parsed
+}
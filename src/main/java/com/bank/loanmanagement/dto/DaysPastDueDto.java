@@ -0,0 +1,21 @@
+package com.bank.loanmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DaysPastDueDto {
+    private String bucket; // current, 1-30, 31-60, 61-90 or 90+
+    private BigDecimal amount;
+    private long installments;
+}
@@ -0,0 +1,21 @@
+package com.bank.loanmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DelinquencyRunDto {
+    private LocalDate runDate;
+    private long overdueInstallments; // Unpaid installments past their due date
+    private long updatedInstallments; // Those whose days past due or penalty changed
+}
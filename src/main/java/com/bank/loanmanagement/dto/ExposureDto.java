@@ -0,0 +1,25 @@
+package com.bank.loanmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExposureDto {
+    private Long customerId; // null for the whole portfolio
+    private BigDecimal outstandingAmount;
+    private long unpaidInstallments;
+    private BigDecimal overdueAmount;
+    private long overdueInstallments;
+    private List<DaysPastDueDto> daysPastDue;
+}
@@ -0,0 +1,24 @@
+package com.bank.loanmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Unpaid installments falling due on a date, summed up over one or more customers.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExposureTotalDto {
+    private Date dueDate;
+    private BigDecimal unpaidAmount;
+    private Long unpaidCount;
+}
@@ -22,4 +22,6 @@ public class InstallmentDto {
     private Date dueDate;
     private Date paymentDate;
     private boolean isPaid;
+    private int daysPastDue;
+    private BigDecimal accruedPenalty;
 }
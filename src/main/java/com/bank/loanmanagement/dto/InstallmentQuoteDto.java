@@ -0,0 +1,27 @@
+package com.bank.loanmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * What paying an installment would cost on the day of the quote.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InstallmentQuoteDto {
+    private Long id;
+    private Date dueDate;
+    private BigDecimal amount;
+    private BigDecimal adjustedAmount; // Amount after the early payment discount or the late payment penalty
+    private BigDecimal discount;
+    private BigDecimal penalty;
+}
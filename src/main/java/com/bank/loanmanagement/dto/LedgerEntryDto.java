@@ -0,0 +1,31 @@
+package com.bank.loanmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * An installment with the ids of its loan and customer, as exported in the ledger.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEntryDto {
+    private Long installmentId;
+    private Long loanId;
+    private Long customerId;
+    private BigDecimal amount;
+    private BigDecimal paidAmount;
+    private Date dueDate;
+    private Date paymentDate;
+    private boolean isPaid;
+    private int daysPastDue;
+    private BigDecimal accruedPenalty;
+}
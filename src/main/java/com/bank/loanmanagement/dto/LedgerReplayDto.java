@@ -0,0 +1,26 @@
+package com.bank.loanmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The outcome of replaying the payment ledger against the paid state of the
+ * installments.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerReplayDto {
+    private long entriesReplayed;
+    private long installmentsChecked;
+    private long mismatchedInstallments; // Installments whose paid state differs from the ledger
+    private List<Long> mismatchedInstallmentIds; // The first of them
+    private long repairedInstallments; // Installments set to the state replayed from the ledger
+}
@@ -0,0 +1,29 @@
+package com.bank.loanmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * An event as published by the outbox relay. Ids increase in the order the
+ * events were written; an event may be published more than once, so
+ * consumers should skip ids they have already seen.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEventDto {
+    private Long id;
+    private String eventType;
+    private Long loanId;
+    private Date createdAt;
+    @JsonRawValue
+    private String payload; // Already JSON, e.g. a LoanResponseDto for LOAN_CREATED
+}
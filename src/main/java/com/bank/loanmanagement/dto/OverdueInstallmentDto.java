@@ -0,0 +1,27 @@
+package com.bank.loanmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * An unpaid installment past its due date, with the delinquency state stored
+ * by the last run of the delinquency job.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OverdueInstallmentDto {
+    private Long id;
+    private BigDecimal amount;
+    private Date dueDate;
+    private int daysPastDue;
+    private BigDecimal accruedPenalty;
+}
@@ -0,0 +1,27 @@
+package com.bank.loanmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentLedgerEntryDto {
+    private Long id;
+    private Long loanId;
+    private Long installmentId;
+    private BigDecimal amount;
+    private BigDecimal discount;
+    private BigDecimal penalty;
+    private Date paymentDate;
+    private Date recordedAt;
+}
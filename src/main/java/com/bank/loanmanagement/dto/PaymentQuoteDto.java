@@ -0,0 +1,30 @@
+package com.bank.loanmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The installments of a loan that can be paid on the quote date, earliest due
+ * first, and the payoff amount that settles all of them.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentQuoteDto {
+    private Long loanId;
+    private LocalDate quoteDate;
+    private List<InstallmentQuoteDto> installments;
+    private BigDecimal payoffAmount;
+    private BigDecimal totalDiscount;
+    private BigDecimal totalPenalty;
+    private boolean isLoanFullyPaidByPayoff; // False while installments beyond the payable horizon remain
+}
@@ -0,0 +1,19 @@
+package com.bank.loanmanagement.exception;
+
+/**
+ * Thrown when work cannot be accepted right now and should be retried later.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+
+    public ServiceBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
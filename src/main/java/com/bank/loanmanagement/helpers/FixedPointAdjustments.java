@@ -0,0 +1,75 @@
+package com.bank.loanmanagement.helpers;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * The early payment discount and late payment penalty rules in whole cents.
+ * An installment of A cents paid d days early is discounted by A * d / 1000
+ * cents, and penalized by the same when paid d days late. Every result is
+ * rounded HALF_UP to the cent on its own, exactly as the BigDecimal rules in
+ * PaymentService do, so the adjusted amount is not necessarily the amount
+ * minus the rounded discount.
+ *
+ * Methods throw ArithmeticException when a result does not fit in a long;
+ * callers are expected to fall back to BigDecimal arithmetic then.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public final class FixedPointAdjustments {
+
+    // The daily rate of 0.001, as a divisor
+    private static final long PER_MILLE = 1000;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private FixedPointAdjustments() {
+    }
+
+    // Days from the payment date to the local due date; negative when the installment is late
+    public static long daysUntilDue( Date dueDate, long paymentEpochDay, TimeZone timeZone ) {
+        long millis = dueDate.getTime();
+        return Math.floorDiv( millis + timeZone.getOffset( millis ), MILLIS_PER_DAY ) - paymentEpochDay;
+    }
+
+    // Exact amount in cents; throws ArithmeticException if the amount has fractions of a cent
+    public static long toCents( BigDecimal amount ) {
+        return amount.movePointRight( 2 ).longValueExact();
+    }
+
+    // Whole cents covered by the amount, i.e. rounded down
+    public static long floorCents( BigDecimal amount ) {
+        BigDecimal cents = amount.movePointRight( 2 ).setScale( 0, RoundingMode.FLOOR );
+        if ( cents.unscaledValue().bitLength() >= Long.SIZE ) {
+            return cents.signum() > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        return cents.longValue();
+    }
+
+    public static long adjustedCents( long cents, long daysUntilDue ) {
+        if ( daysUntilDue == 0 ) {
+            return cents;
+        }
+        // Early: A - A * d / 1000, late: A + A * |d| / 1000, both over a common denominator
+        return roundHalfUp( Math.multiplyExact( cents, Math.subtractExact( PER_MILLE, daysUntilDue ) ), PER_MILLE );
+    }
+
+    public static long discountCents( long cents, long daysUntilDue ) {
+        return daysUntilDue > 0 ? roundHalfUp( Math.multiplyExact( cents, daysUntilDue ), PER_MILLE ) : 0;
+    }
+
+    public static long penaltyCents( long cents, long daysUntilDue ) {
+        return daysUntilDue < 0 ? roundHalfUp( Math.multiplyExact( cents, -daysUntilDue ), PER_MILLE ) : 0;
+    }
+
+    // Ties away from zero, as RoundingMode.HALF_UP
+    private static long roundHalfUp( long numerator, long denominator ) {
+        long half = denominator / 2;
+        return numerator >= 0
+                ? Math.addExact( numerator, half ) / denominator
+                : -( Math.addExact( Math.negateExact( numerator ), half ) / denominator );
+    }
+}
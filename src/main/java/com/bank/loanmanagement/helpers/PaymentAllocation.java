@@ -0,0 +1,24 @@
+package com.bank.loanmanagement.helpers;
+
+import com.bank.loanmanagement.dto.PaymentResponseDto;
+import com.bank.loanmanagement.model.LoanInstallment;
+import com.bank.loanmanagement.model.PaymentLedgerEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentAllocation {
+    private List<LoanInstallment> settledInstallments; // Installments paid by this payment
+    private List<PaymentLedgerEntry> ledgerEntries; // One per settled installment, to be appended to the ledger
+    private PaymentResponseDto response;
+}
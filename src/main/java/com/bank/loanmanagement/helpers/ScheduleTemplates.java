@@ -0,0 +1,49 @@
+package com.bank.loanmanagement.helpers;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Due dates of installment schedules, computed once per origination month and
+ * number of installments. A schedule originated in a month falls due on the
+ * 1st of each following month, at the start of the day in the given zone.
+ *
+ * Only a handful of templates exist per month, so they are kept for the
+ * lifetime of the application.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public class ScheduleTemplates {
+
+    private final ZoneId zoneId;
+    private final Map<Long, long[]> templates = new ConcurrentHashMap<>();
+
+    public ScheduleTemplates( ZoneId zoneId ) {
+        this.zoneId = zoneId;
+    }
+
+    /**
+     * Returns the due dates in epoch milliseconds. The array is shared and must
+     * not be modified.
+     */
+    public long[] dueDates( YearMonth originationMonth, int installmentCount ) {
+        long key = originationMonth.getYear() * 12L + originationMonth.getMonthValue() - 1;
+        return templates.computeIfAbsent( key * 1024 + installmentCount,
+                ignored -> computeDueDates( originationMonth, installmentCount ) );
+    }
+
+    private long[] computeDueDates( YearMonth originationMonth, int installmentCount ) {
+        long[] dueDates = new long[installmentCount];
+        LocalDate dueDate = originationMonth.atDay( 1 ).plusMonths( 1 );
+        for ( int i = 0; i < installmentCount; i++ ) {
+            dueDates[i] = dueDate.atStartOfDay( zoneId ).toInstant().toEpochMilli();
+            dueDate = dueDate.plusMonths( 1 );
+        }
+        return dueDates;
+    }
+}
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -17,6 +19,9 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+// Second-level cache, when enabled by loan.cache.enabled
+@Cacheable
+@Cache( usage = CacheConcurrencyStrategy.READ_WRITE, region = "customer" )
 public class Customer {
     @Id
     @GeneratedValue( strategy = GenerationType.IDENTITY )
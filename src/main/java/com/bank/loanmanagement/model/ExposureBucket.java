@@ -0,0 +1,34 @@
+package com.bank.loanmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * The unpaid installments of a customer falling due on the same date, summed
+ * up. Rows are kept when they drop to zero; installments of later loans often
+ * fall due on the same dates.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExposureBucket {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exposure_bucket_seq")
+    @SequenceGenerator(name = "exposure_bucket_seq", sequenceName = "exposure_bucket_seq", allocationSize = 50)
+    private Long id;
+
+    private Long customerId;
+    private Date dueDate;
+    private BigDecimal unpaidAmount; // Sum of the unpaid installment amounts
+    private int unpaidCount; // Number of unpaid installments
+}
@@ -0,0 +1,47 @@
+package com.bank.loanmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * The outcome of a payment made with an Idempotency-Key, kept so that retries
+ * of the same request return the original response instead of paying again.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord implements Persistable<String> {
+    @Id
+    private String idempotencyKey;
+
+    private Long loanId;
+    private int numberOfInstallmentsPaid;
+    private BigDecimal totalAmountPaid;
+    private boolean isLoanFullyPaid;
+    private BigDecimal totalDiscount;
+    private BigDecimal totalPenalty;
+    private Date createDate;
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    // Records are only ever inserted: saving one persists it instead of merging, so a key that has
+    // already been committed fails with a duplicate key rather than overwriting the first outcome
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -18,7 +18,9 @@ import java.util.Date;
 @AllArgsConstructor
 public class LoanInstallment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence ids (pooled, 50 per round trip) so that schedules can be inserted as one JDBC batch
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loan_installment_seq")
+    @SequenceGenerator(name = "loan_installment_seq", sequenceName = "loan_installment_seq", allocationSize = 50)
     private Long id;
 
     private BigDecimal amount; // Installment amount
@@ -26,6 +28,9 @@ public class LoanInstallment {
     private Date dueDate; // Due date
     private Date paymentDate; // Payment date
     private boolean isPaid = false;
+    // Set by DelinquencyService while the installment is unpaid, and cleared when a payment settles it
+    private int daysPastDue = 0; // Days past due of an unpaid installment, as of the last delinquency run
+    private BigDecimal accruedPenalty = BigDecimal.ZERO; // Late payment penalty accrued so far
 
     @ManyToOne
     private Loan loan;
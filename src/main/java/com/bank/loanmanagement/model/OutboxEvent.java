@@ -0,0 +1,33 @@
+package com.bank.loanmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * An event waiting in the outbox to be published, see OutboxRelay.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    @Id
+    // Sequence ids (pooled, 50 per round trip) so that events are inserted in the same JDBC batches as the changes
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    private String eventType; // e.g. LOAN_CREATED
+    private Long aggregateId; // Id of the loan the event is about
+    @Column(length = 4000)
+    private String payload; // JSON
+    private Date createdAt;
+}
@@ -0,0 +1,38 @@
+package com.bank.loanmanagement.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * The settlement of an installment by a payment. Entries are never updated or
+ * deleted; they are inserted by PaymentLedgerService, which also assigns
+ * their ids, so the mapping is read-only.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Entity
+@Immutable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentLedgerEntry {
+    @Id
+    private Long id;
+
+    private Long loanId;
+    private Long installmentId;
+    private BigDecimal amount; // Amount paid, after the discount or penalty
+    private BigDecimal discount; // Early payment discount
+    private BigDecimal penalty; // Late payment penalty
+    private Date paymentDate; // Null for backfilled payments of installments that had no payment date
+    private Date recordedAt; // When the payment was made
+}
@@ -1,9 +1,22 @@
 package com.bank.loanmanagement.repository;
 
 import com.bank.loanmanagement.model.Customer;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * @author Sayat Ertüfenk
@@ -13,5 +26,36 @@ import java.util.Optional;
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByNameAndSurname( String name, String surname);
 
+    // Cached with the second-level cache; any write to the customer table invalidates the result
+    @QueryHints( @QueryHint( name = HibernateHints.HINT_CACHEABLE, value = "true" ) )
     Optional<Customer> findByUsername(String username);
+
+    // Customers with their loans in a single query, instead of one query per customer
+    @Query( "SELECT DISTINCT c FROM Customer c LEFT JOIN FETCH c.loans ORDER BY c.id" )
+    List<Customer> findAllWithLoans();
+
+    @Query( "SELECT DISTINCT c FROM Customer c LEFT JOIN FETCH c.loans WHERE c.id IN :ids ORDER BY c.id" )
+    List<Customer> findAllWithLoansByIdIn( @Param( "ids" ) Collection<Long> ids );
+
+    // Locked in id order, so that two bulk origination chunks sharing customers cannot deadlock
+    @Lock( LockModeType.PESSIMISTIC_WRITE )
+    @Query( "SELECT c FROM Customer c WHERE c.id IN :ids ORDER BY c.id" )
+    List<Customer> findAllByIdForUpdate( @Param( "ids" ) Collection<Long> ids );
+
+    @Query( "SELECT c.id FROM Customer c WHERE c.id > :afterId ORDER BY c.id" )
+    List<Long> findIdsAfter( @Param( "afterId" ) Long afterId, Limit limit );
+
+    // Forward-only cursor over all customers; must be consumed inside a transaction
+    @QueryHints( @QueryHint( name = HibernateHints.HINT_FETCH_SIZE, value = "500" ) )
+    @Query( "SELECT c FROM Customer c ORDER BY c.id" )
+    Stream<Customer> streamAll();
+
+    /**
+     * Atomically adds the amount to the customer's used credit limit, provided
+     * the credit limit is not exceeded. Returns 0 when there is not enough limit.
+     */
+    @Modifying
+    @Query( "UPDATE Customer c SET c.usedCreditLimit = c.usedCreditLimit + :amount " +
+            "WHERE c.id = :customerId AND c.usedCreditLimit + :amount <= c.creditLimit" )
+    int reserveCredit( @Param( "customerId" ) Long customerId, @Param( "amount" ) BigDecimal amount );
 }
@@ -0,0 +1,42 @@
+package com.bank.loanmanagement.repository;
+
+import com.bank.loanmanagement.dto.ExposureTotalDto;
+import com.bank.loanmanagement.model.ExposureBucket;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public interface ExposureBucketRepository extends JpaRepository<ExposureBucket, Long> {
+
+    // Locked in due date order, so that concurrent updates of a customer's buckets cannot deadlock
+    @Lock( LockModeType.PESSIMISTIC_WRITE )
+    @Query( "SELECT e FROM ExposureBucket e WHERE e.customerId = :customerId AND e.dueDate IN :dueDates ORDER BY e.dueDate" )
+    List<ExposureBucket> findForUpdate( @Param( "customerId" ) Long customerId, @Param( "dueDates" ) Collection<Date> dueDates );
+
+    @Query( "SELECT e FROM ExposureBucket e WHERE e.customerId IN :customerIds AND e.unpaidCount > 0" )
+    List<ExposureBucket> findUnpaidByCustomerIdIn( @Param( "customerIds" ) Collection<Long> customerIds );
+
+    @Query( "SELECT DISTINCT e.customerId FROM ExposureBucket e WHERE e.customerId > :afterId AND e.unpaidCount > 0 ORDER BY e.customerId" )
+    List<Long> findCustomerIdsAfter( @Param( "afterId" ) Long afterId, Limit limit );
+
+    @Query( "SELECT new com.bank.loanmanagement.dto.ExposureTotalDto( e.dueDate, SUM( e.unpaidAmount ), SUM( e.unpaidCount ) ) " +
+            "FROM ExposureBucket e WHERE e.unpaidCount > 0 GROUP BY e.dueDate" )
+    List<ExposureTotalDto> findTotalsByDueDate();
+
+    @Modifying
+    @Query( "DELETE FROM ExposureBucket e WHERE e.customerId = :customerId" )
+    int deleteByCustomerId( @Param( "customerId" ) Long customerId );
+}
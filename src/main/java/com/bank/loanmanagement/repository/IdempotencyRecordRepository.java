@@ -0,0 +1,12 @@
+package com.bank.loanmanagement.repository;
+
+import com.bank.loanmanagement.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+}
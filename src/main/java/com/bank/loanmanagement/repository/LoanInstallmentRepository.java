@@ -1,9 +1,21 @@
 package com.bank.loanmanagement.repository;
 
+import com.bank.loanmanagement.dto.InstallmentDto;
+import com.bank.loanmanagement.dto.LedgerEntryDto;
+import com.bank.loanmanagement.dto.OverdueInstallmentDto;
 import com.bank.loanmanagement.model.LoanInstallment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * @author Sayat Ertüfenk
@@ -12,4 +24,36 @@ import java.util.List;
 
 public interface LoanInstallmentRepository extends JpaRepository<LoanInstallment, Long> {
     List<LoanInstallment> findByLoanId( Long loanId );
+
+    List<LoanInstallment> findByLoanIdIn( Collection<Long> loanIds );
+
+    // Unpaid installments that can be paid now, i.e. falling due before the horizon, earliest first
+    @Query( "SELECT i FROM LoanInstallment i " +
+            "WHERE i.loan.id = :loanId AND i.isPaid = false AND i.dueDate < :horizon ORDER BY i.dueDate" )
+    List<LoanInstallment> findPayableInstallments( @Param( "loanId" ) Long loanId, @Param( "horizon" ) Date horizon );
+
+    // Unpaid installments that cannot be paid yet
+    @Query( "SELECT COUNT( i ) FROM LoanInstallment i " +
+            "WHERE i.loan.id = :loanId AND i.isPaid = false AND i.dueDate >= :horizon" )
+    long countUnpaidDueFrom( @Param( "loanId" ) Long loanId, @Param( "horizon" ) Date horizon );
+
+    // Read-only projection straight into the response DTO, bypassing the persistence context
+    @Query( "SELECT new com.bank.loanmanagement.dto.InstallmentDto( " +
+            "i.id, i.amount, i.paidAmount, i.dueDate, i.paymentDate, i.isPaid, i.daysPastDue, i.accruedPenalty ) " +
+            "FROM LoanInstallment i WHERE i.loan.id = :loanId ORDER BY i.dueDate, i.id" )
+    List<InstallmentDto> findDtosByLoanId( @Param( "loanId" ) Long loanId );
+
+    // Unpaid installments due before the date, from a (due date, id) position on; walks the (is_paid, due_date) index
+    @Query( "SELECT new com.bank.loanmanagement.dto.OverdueInstallmentDto( i.id, i.amount, i.dueDate, i.daysPastDue, i.accruedPenalty ) " +
+            "FROM LoanInstallment i WHERE i.isPaid = false AND i.dueDate < :before " +
+            "AND ( i.dueDate > :afterDueDate OR ( i.dueDate = :afterDueDate AND i.id > :afterId ) ) ORDER BY i.dueDate, i.id" )
+    List<OverdueInstallmentDto> findOverdueAfter( @Param( "before" ) Date before, @Param( "afterDueDate" ) Date afterDueDate,
+                                                  @Param( "afterId" ) Long afterId, Limit limit );
+
+    // Forward-only cursor over all installments in id order; must be consumed inside a transaction
+    @QueryHints( @QueryHint( name = HibernateHints.HINT_FETCH_SIZE, value = "1000" ) )
+    @Query( "SELECT new com.bank.loanmanagement.dto.LedgerEntryDto( " +
+            "i.id, l.id, l.customer.id, i.amount, i.paidAmount, i.dueDate, i.paymentDate, i.isPaid, i.daysPastDue, i.accruedPenalty ) " +
+            "FROM LoanInstallment i JOIN i.loan l ORDER BY i.id" )
+    Stream<LedgerEntryDto> streamLedger();
 }
\ No newline at end of file
@@ -1,9 +1,21 @@
 package com.bank.loanmanagement.repository;
 
+import com.bank.loanmanagement.dto.LoanResponseDto;
 import com.bank.loanmanagement.model.Loan;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * @author Sayat Ertüfenk
@@ -12,4 +24,34 @@ import java.util.List;
 
 public interface LoanRepository extends JpaRepository<Loan, Long> {
     List<Loan> findByCustomerId( Long customerId);
+
+    List<Loan> findByCustomerIdIn( Collection<Long> customerIds );
+
+    // SELECT ... FOR UPDATE, so that concurrent payments of the same loan are serialized
+    @Lock( LockModeType.PESSIMISTIC_WRITE )
+    @Query( "SELECT l FROM Loan l WHERE l.id = :id" )
+    Optional<Loan> findByIdForUpdate( @Param( "id" ) Long id );
+
+    // Locked in id order, so that two chunks sharing loans cannot deadlock
+    @Lock( LockModeType.PESSIMISTIC_WRITE )
+    @Query( "SELECT l FROM Loan l WHERE l.id IN :ids ORDER BY l.id" )
+    List<Loan> findAllByIdForUpdate( @Param( "ids" ) Collection<Long> ids );
+
+    // Read-only projections straight into the response DTO, bypassing the persistence context
+    String LOAN_RESPONSE = "SELECT new com.bank.loanmanagement.dto.LoanResponseDto( " +
+            "l.id, l.totalAmount, l.loanAmount, l.numberOfInstallment, l.isPaid ) FROM Loan l ";
+
+    @Query( LOAN_RESPONSE + "WHERE l.customer.id = :customerId ORDER BY l.id" )
+    List<LoanResponseDto> findResponsesByCustomerId( @Param( "customerId" ) Long customerId );
+
+    @Query( LOAN_RESPONSE + "ORDER BY l.id" )
+    List<LoanResponseDto> findAllResponses();
+
+    @Query( LOAN_RESPONSE + "WHERE l.id > :afterId ORDER BY l.id" )
+    List<LoanResponseDto> findResponsesAfter( @Param( "afterId" ) Long afterId, Limit limit );
+
+    // Forward-only cursor over all loans; must be consumed inside a transaction
+    @QueryHints( @QueryHint( name = HibernateHints.HINT_FETCH_SIZE, value = "500" ) )
+    @Query( LOAN_RESPONSE + "ORDER BY l.id" )
+    Stream<LoanResponseDto> streamAllResponses();
 }
@@ -0,0 +1,12 @@
+package com.bank.loanmanagement.repository;
+
+import com.bank.loanmanagement.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+}
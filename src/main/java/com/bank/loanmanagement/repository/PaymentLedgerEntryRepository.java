@@ -0,0 +1,37 @@
+package com.bank.loanmanagement.repository;
+
+import com.bank.loanmanagement.dto.PaymentLedgerEntryDto;
+import com.bank.loanmanagement.model.PaymentLedgerEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public interface PaymentLedgerEntryRepository extends JpaRepository<PaymentLedgerEntry, Long> {
+
+    @Query( "SELECT new com.bank.loanmanagement.dto.PaymentLedgerEntryDto( " +
+            "e.id, e.loanId, e.installmentId, e.amount, e.discount, e.penalty, e.paymentDate, e.recordedAt ) " +
+            "FROM PaymentLedgerEntry e WHERE e.loanId = :loanId ORDER BY e.id" )
+    List<PaymentLedgerEntryDto> findDtosByLoanId( @Param( "loanId" ) Long loanId );
+
+    List<PaymentLedgerEntry> findByLoanIdInOrderById( Collection<Long> loanIds );
+
+    // Forward-only cursor over the whole ledger in installment order, along the installment index;
+    // rows are projected into DTOs, so memory use does not grow with the ledger
+    @QueryHints( @QueryHint( name = HibernateHints.HINT_FETCH_SIZE, value = "1000" ) )
+    @Query( "SELECT new com.bank.loanmanagement.dto.PaymentLedgerEntryDto( " +
+            "e.id, e.loanId, e.installmentId, e.amount, e.discount, e.penalty, e.paymentDate, e.recordedAt ) " +
+            "FROM PaymentLedgerEntry e ORDER BY e.installmentId, e.id" )
+    Stream<PaymentLedgerEntryDto> streamByInstallment();
+}
@@ -0,0 +1,137 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.dto.BatchPaymentResultDto;
+import com.bank.loanmanagement.dto.BatchPaymentRowDto;
+import com.bank.loanmanagement.helpers.PaymentAllocation;
+import com.bank.loanmanagement.model.Loan;
+import com.bank.loanmanagement.model.LoanInstallment;
+import com.bank.loanmanagement.model.PaymentLedgerEntry;
+import com.bank.loanmanagement.repository.LoanInstallmentRepository;
+import com.bank.loanmanagement.repository.LoanRepository;
+import com.bank.loanmanagement.util.ChunkedTransactions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Applies payment files in chunks. Every chunk is one transaction: the loans
+ * and installments it touches are loaded with one query each, payments are
+ * allocated in file order, and the results of the chunk are only reported
+ * once it has been committed.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Service
+public class BatchPaymentService {
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanInstallmentRepository installmentRepository;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private ExposureService exposureService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PaymentQuoteCache quoteCache;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private PaymentLedgerService paymentLedgerService;
+
+    @Value( "${loan.payment.batch.chunk-size:500}" )
+    private int chunkSize = 500;
+
+    public void payLoans( Iterator<BatchPaymentRowDto> rows, Consumer<BatchPaymentResultDto> results ) {
+        ChunkedTransactions.apply( rows, chunkSize, new TransactionTemplate( transactionManager ), this::applyChunk,
+                BatchPaymentResultDto::failed, chunkResults -> {
+                    // Quotes of the loans paid in the chunk are outdated once it has been committed
+                    quoteCache.evictAll( chunkResults.stream()
+                            .filter( result -> BatchPaymentResultDto.OK.equals( result.getStatus() ) )
+                            .map( BatchPaymentResultDto::getLoanId )
+                            .collect( Collectors.toSet() ) );
+                    chunkResults.forEach( results );
+                } );
+    }
+
+    private List<BatchPaymentResultDto> applyChunk( List<BatchPaymentRowDto> chunk ) {
+        Set<Long> loanIds = new HashSet<>();
+        for ( BatchPaymentRowDto row : chunk ) {
+            if ( row.getError() == null ) {
+                loanIds.add( row.getLoanId() );
+            }
+        }
+
+        // Load everything the chunk needs with set-based queries, locking the loans against concurrent payments
+        Map<Long, Loan> loans = new HashMap<>();
+        loanRepository.findAllByIdForUpdate( loanIds ).forEach( loan -> loans.put( loan.getId(), loan ) );
+        Map<Long, List<LoanInstallment>> installmentsByLoan = installmentRepository.findByLoanIdIn( loans.keySet() ).stream()
+                .collect( Collectors.groupingBy( installment -> installment.getLoan().getId() ) );
+
+        LocalDate currentDate = paymentService.today();
+        List<BatchPaymentResultDto> results = new ArrayList<>( chunk.size() );
+        List<LoanInstallment> settledInstallments = new ArrayList<>();
+        List<PaymentLedgerEntry> ledgerEntries = new ArrayList<>();
+        Map<Long, Loan> paidLoans = new HashMap<>();
+
+        for ( BatchPaymentRowDto row : chunk ) {
+            if ( row.getError() != null ) {
+                results.add( BatchPaymentResultDto.failed( row, row.getError() ) );
+                continue;
+            }
+            Loan loan = loans.get( row.getLoanId() );
+            if ( loan == null ) {
+                results.add( BatchPaymentResultDto.failed( row, "Loan not found" ) );
+                continue;
+            }
+            if ( row.getAmount().compareTo( BigDecimal.ZERO ) <= 0 ) {
+                results.add( BatchPaymentResultDto.failed( row, "Amount must be positive" ) );
+                continue;
+            }
+
+            // Rows of the same loan share its installments, so they are applied one after the other
+            PaymentAllocation allocation = paymentService.allocatePayment(
+                    loan, installmentsByLoan.getOrDefault( loan.getId(), new ArrayList<>() ), row.getAmount(), currentDate );
+            settledInstallments.addAll( allocation.getSettledInstallments() );
+            ledgerEntries.addAll( allocation.getLedgerEntries() );
+            paidLoans.put( loan.getId(), loan );
+            if ( !allocation.getSettledInstallments().isEmpty() ) {
+                outboxService.record( OutboxService.PAYMENT_APPLIED, loan.getId(), allocation.getResponse() );
+            }
+
+            results.add( new BatchPaymentResultDto(
+                    row.getLine(), row.getLoanId(), BatchPaymentResultDto.OK, null, allocation.getResponse() ) );
+        }
+
+        paymentLedgerService.append( ledgerEntries );
+        installmentRepository.saveAll( settledInstallments );
+        exposureService.recordSettled( settledInstallments );
+        loanRepository.saveAll( paidLoans.values() );
+        return results;
+    }
+}
@@ -0,0 +1,148 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.dto.BulkLoanResultDto;
+import com.bank.loanmanagement.dto.BulkLoanRowDto;
+import com.bank.loanmanagement.dto.LoanRequestDto;
+import com.bank.loanmanagement.dto.LoanResponseDto;
+import com.bank.loanmanagement.exception.InvalidParameterException;
+import com.bank.loanmanagement.model.Customer;
+import com.bank.loanmanagement.model.Loan;
+import com.bank.loanmanagement.model.LoanInstallment;
+import com.bank.loanmanagement.repository.CustomerRepository;
+import com.bank.loanmanagement.repository.LoanInstallmentRepository;
+import com.bank.loanmanagement.repository.LoanRepository;
+import com.bank.loanmanagement.util.ChunkedTransactions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Originates loans from portfolio files in chunks, e.g. when migrating the
+ * portfolio of an acquired lender. Every chunk is one transaction: the
+ * customers it touches are loaded and locked with one query, credit limits
+ * are checked and reserved in memory in file order, and the loans and their
+ * installments are inserted as JDBC batches. The results of the chunk are only
+ * reported once it has been committed.
+ *
+ * Loans are validated and priced exactly as by LoanService.createLoan.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Service
+public class BulkOriginationService {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanInstallmentRepository installmentRepository;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private ExposureService exposureService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value( "${loan.origination.bulk.chunk-size:500}" )
+    private int chunkSize = 500;
+
+    public void createLoans( Iterator<BulkLoanRowDto> rows, Consumer<BulkLoanResultDto> results ) {
+        ChunkedTransactions.apply( rows, chunkSize, new TransactionTemplate( transactionManager ), this::applyChunk,
+                BulkLoanResultDto::failed, chunkResults -> chunkResults.forEach( results ) );
+    }
+
+    private List<BulkLoanResultDto> applyChunk( List<BulkLoanRowDto> chunk ) {
+        Set<Long> customerIds = new HashSet<>();
+        for ( BulkLoanRowDto row : chunk ) {
+            if ( row.getError() == null ) {
+                customerIds.add( row.getRequest().getCustomerId() );
+            }
+        }
+
+        // Lock the customers of the chunk against concurrent originations; their limits are then checked in memory
+        Map<Long, Customer> customers = new HashMap<>();
+        customerRepository.findAllByIdForUpdate( customerIds ).forEach( customer -> customers.put( customer.getId(), customer ) );
+
+        List<BulkLoanResultDto> results = new ArrayList<>( chunk.size() );
+        List<Loan> loans = new ArrayList<>();
+        List<LoanInstallment> installments = new ArrayList<>();
+        // The results of the loans, in the same order; they get the loan ids once the loans have been saved
+        List<BulkLoanResultDto> loanResults = new ArrayList<>();
+
+        for ( BulkLoanRowDto row : chunk ) {
+            if ( row.getError() != null ) {
+                results.add( BulkLoanResultDto.failed( row, row.getError() ) );
+                continue;
+            }
+            LoanRequestDto request = row.getRequest();
+            Customer customer = customers.get( request.getCustomerId() );
+            if ( customer == null ) {
+                results.add( BulkLoanResultDto.failed( row, "Customer not found" ) );
+                continue;
+            }
+            if ( request.getAmount().compareTo( BigDecimal.ZERO ) <= 0 ) {
+                results.add( BulkLoanResultDto.failed( row, "Amount must be positive" ) );
+                continue;
+            }
+            try {
+                loanService.validateLoanRequest( request );
+            } catch ( InvalidParameterException e ) {
+                results.add( BulkLoanResultDto.failed( row, e.getMessage() ) );
+                continue;
+            }
+
+            // Rows of the same customer share its limit, so they are reserved one after the other
+            BigDecimal totalLoanAmount = LoanService.totalAmount( request );
+            BigDecimal newUsedCreditLimit = customer.getUsedCreditLimit().add( totalLoanAmount );
+            if ( newUsedCreditLimit.compareTo( customer.getCreditLimit() ) > 0 ) {
+                results.add( BulkLoanResultDto.failed( row, "Insufficient credit limit" ) );
+                continue;
+            }
+            customer.setUsedCreditLimit( newUsedCreditLimit );
+
+            Loan loan = LoanService.newLoan( customer, request, totalLoanAmount );
+            BigDecimal installmentAmount = LoanService.installmentAmount( totalLoanAmount, request.getNumberOfInstallment() );
+            loans.add( loan );
+            installments.addAll( loanService.createInstallments( loan, installmentAmount, request.getNumberOfInstallment() ) );
+
+            BulkLoanResultDto result = new BulkLoanResultDto( row.getLine(), customer.getId(), BulkLoanResultDto.OK, null,
+                    new LoanResponseDto( null, totalLoanAmount, installmentAmount, request.getNumberOfInstallment(), false ) );
+            loanResults.add( result );
+            results.add( result );
+        }
+
+        // Sequence ids, so both are inserted as JDBC batches; the customers are updated once each when the chunk is flushed
+        loanRepository.saveAll( loans );
+        installmentRepository.saveAll( installments );
+        exposureService.recordScheduled( installments );
+        for ( int i = 0; i < loans.size(); i++ ) {
+            LoanResponseDto response = loanResults.get( i ).getLoan();
+            response.setLoanId( loans.get( i ).getId() );
+            outboxService.record( OutboxService.LOAN_CREATED, response.getLoanId(), response );
+        }
+        return results;
+    }
+}
@@ -0,0 +1,146 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.dto.CustomerDto;
+import com.bank.loanmanagement.dto.KeysetPageDto;
+import com.bank.loanmanagement.dto.LoanDto;
+import com.bank.loanmanagement.exception.InvalidParameterException;
+import com.bank.loanmanagement.exception.ResourceNotFoundException;
+import com.bank.loanmanagement.model.Customer;
+import com.bank.loanmanagement.model.Loan;
+import com.bank.loanmanagement.repository.CustomerRepository;
+import com.bank.loanmanagement.repository.LoanRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Customer administration: listing customers with their loans, and deleting
+ * them.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Service
+public class CustomerService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int STREAM_CHUNK_SIZE = 500;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private ExposureService exposureService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Deletes the customer with their loans and installments, and their exposure, in one transaction
+    @Transactional
+    public Customer deleteCustomer( Long customerId ) {
+        Customer customer = customerRepository.findById( customerId )
+                .orElseThrow( () -> new ResourceNotFoundException( "Customer not found" ) );
+
+        exposureService.deleteCustomerExposure( customerId );
+        customerRepository.delete( customer );
+        return customer;
+    }
+
+    @Transactional( readOnly = true )
+    public List<CustomerDto> getAllCustomers() {
+        List<Customer> customers = customerRepository.findAllWithLoans();
+        return customers.stream().map( this::convertToDto ).collect( Collectors.toList() );
+    }
+
+    @Transactional( readOnly = true )
+    public KeysetPageDto<CustomerDto> getAllCustomers( Long afterId, int size ) {
+        if ( size < 1 || size > MAX_PAGE_SIZE ) {
+            throw new InvalidParameterException( "Page size should be between 1 and " + MAX_PAGE_SIZE );
+        }
+        // Page over ids first; a fetch join cannot be limited in the database
+        List<Long> ids = customerRepository.findIdsAfter( afterId == null ? 0L : afterId, Limit.of( size ) );
+        List<Customer> customers = ids.isEmpty() ? List.of() : customerRepository.findAllWithLoansByIdIn( ids );
+
+        List<CustomerDto> customerDtos = customers.stream().map( this::convertToDto ).collect( Collectors.toList() );
+        Long nextAfterId = ids.size() < size ? null : ids.get( ids.size() - 1 );
+        return new KeysetPageDto<>( customerDtos, nextAfterId );
+    }
+
+    /**
+     * Hands every customer to the consumer in id order while reading them from
+     * a database cursor. Loans are loaded with one query per chunk of customers,
+     * after which the persistence context is cleared.
+     */
+    @Transactional( readOnly = true )
+    public void streamAllCustomers( Consumer<CustomerDto> consumer ) {
+        List<Customer> chunk = new ArrayList<>( STREAM_CHUNK_SIZE );
+        try ( Stream<Customer> customers = customerRepository.streamAll() ) {
+            for ( Iterator<Customer> iterator = customers.iterator(); iterator.hasNext(); ) {
+                chunk.add( iterator.next() );
+                if ( chunk.size() == STREAM_CHUNK_SIZE ) {
+                    writeChunk( chunk, consumer );
+                }
+            }
+        }
+        writeChunk( chunk, consumer );
+    }
+
+    private void writeChunk( List<Customer> chunk, Consumer<CustomerDto> consumer ) {
+        if ( chunk.isEmpty() ) return;
+
+        Map<Long, List<Loan>> loansByCustomer = loanRepository.findByCustomerIdIn(
+                chunk.stream().map( Customer::getId ).collect( Collectors.toList() ) ).stream()
+                .collect( Collectors.groupingBy( loan -> loan.getCustomer().getId() ) );
+        for ( Customer customer : chunk ) {
+            consumer.accept( convertToDto( customer, loansByCustomer.getOrDefault( customer.getId(), List.of() ) ) );
+        }
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    private CustomerDto convertToDto( Customer customer ) {
+        return convertToDto( customer, customer.getLoans() );
+    }
+
+    private CustomerDto convertToDto( Customer customer, List<Loan> loans ) {
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setId( customer.getId() );
+        customerDto.setName( customer.getName() );
+        customerDto.setSurname( customer.getSurname() );
+        customerDto.setUsername( customer.getUsername() );
+        customerDto.setCreditLimit( customer.getCreditLimit() );
+        customerDto.setUsedCreditLimit( customer.getUsedCreditLimit() );
+
+        // Converting loans
+        List<LoanDto> loanDtos = loans.stream().map( this::convertLoanToDto ).collect( Collectors.toList() );
+        customerDto.setLoans( loanDtos );
+        return customerDto;
+    }
+
+    private LoanDto convertLoanToDto( Loan loan ) {
+        LoanDto loanDto = new LoanDto();
+        loanDto.setId( loan.getId() );
+        loanDto.setLoanAmount( loan.getLoanAmount() );
+        loanDto.setTotalAmount( loan.getTotalAmount() );
+        loanDto.setNumberOfInstallment( loan.getNumberOfInstallment() );
+        loanDto.setCreateDate( loan.getCreateDate() );
+        loanDto.setPaid( loan.isPaid() );
+
+        return loanDto;
+    }
+}
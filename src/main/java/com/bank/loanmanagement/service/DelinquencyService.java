@@ -0,0 +1,186 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.dto.DelinquencyRunDto;
+import com.bank.loanmanagement.dto.OverdueInstallmentDto;
+import com.bank.loanmanagement.exception.ServiceBusyException;
+import com.bank.loanmanagement.helpers.FixedPointAdjustments;
+import com.bank.loanmanagement.repository.LoanInstallmentRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the days past due and the accrued late payment penalty of unpaid
+ * installments current, so that they can be reported before the customer
+ * pays. The penalty accrues by the same rule as in PaymentService.
+ *
+ * A run walks the unpaid installments past their due date in (due date, id)
+ * order, a chunk at a time, along the (is_paid, due_date) index. Only the rows
+ * whose state differs from what is stored are written, so a second run on the
+ * same day writes nothing. Chunks are written by worker threads, each in a
+ * transaction of its own, while the next chunk is read.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Service
+public class DelinquencyService {
+
+    // Conditional, so that an installment paid in the meantime is left alone
+    private static final String UPDATE_DELINQUENCY =
+            "UPDATE loan_installment SET days_past_due = ?, accrued_penalty = ? WHERE id = ? AND is_paid = FALSE";
+    // No installment falls due before the epoch, so the walk starts there
+    private static final Date START = new Date( 0 );
+
+    @Autowired
+    private LoanInstallmentRepository installmentRepository;
+
+    // The updates of a chunk are sent as one JDBC batch, which Spring Data modifying queries cannot do
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+    private final ThreadPoolTaskExecutor executor;
+    private final ReentrantLock running = new ReentrantLock();
+    private final TimeZone timeZone = TimeZone.getDefault();
+
+    public DelinquencyService(
+            @Value( "${loan.delinquency.workers:4}" ) int workers,
+            @Value( "${loan.delinquency.chunk-size:500}" ) int chunkSize ) {
+        this.chunkSize = chunkSize;
+        // Reading stays at most this many chunks ahead of the workers
+        this.maxChunksInFlight = 2 * workers;
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize( workers );
+        executor.setMaxPoolSize( workers );
+        executor.setQueueCapacity( maxChunksInFlight );
+        executor.setThreadNamePrefix( "delinquency-" );
+        executor.initialize();
+    }
+
+    @Scheduled( cron = "${loan.delinquency.cron:0 15 0 * * *}" )
+    public void runScheduled() {
+        run();
+    }
+
+    public DelinquencyRunDto run() {
+        if ( !running.tryLock() ) {
+            throw new ServiceBusyException( "The delinquency job is already running" );
+        }
+        try {
+            return scan( LocalDate.now() );
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private DelinquencyRunDto scan( LocalDate today ) {
+        long todayEpochDay = today.toEpochDay();
+        // Installments are overdue from the day after their due date
+        Date before = Date.from( today.atStartOfDay( ZoneId.systemDefault() ).toInstant() );
+
+        Semaphore chunksInFlight = new Semaphore( maxChunksInFlight );
+        AtomicLong updated = new AtomicLong();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        long overdue = 0;
+
+        Date afterDueDate = START;
+        Long afterId = 0L;
+        List<OverdueInstallmentDto> chunk;
+        do {
+            chunk = installmentRepository.findOverdueAfter( before, afterDueDate, afterId, Limit.of( chunkSize ) );
+            overdue += chunk.size();
+
+            List<Object[]> changes = new ArrayList<>();
+            for ( OverdueInstallmentDto installment : chunk ) {
+                int daysPastDue = (int) -FixedPointAdjustments.daysUntilDue( installment.getDueDate(), todayEpochDay, timeZone );
+                BigDecimal accruedPenalty = accruedPenalty( installment.getAmount(), daysPastDue );
+                if ( daysPastDue != installment.getDaysPastDue() || accruedPenalty.compareTo( installment.getAccruedPenalty() ) != 0 ) {
+                    changes.add( new Object[]{ daysPastDue, accruedPenalty, installment.getId() } );
+                }
+            }
+
+            if ( !changes.isEmpty() ) {
+                chunksInFlight.acquireUninterruptibly();
+                executor.execute( () -> {
+                    try {
+                        updated.addAndGet( write( changes ) );
+                    } catch ( RuntimeException e ) {
+                        failure.compareAndSet( null, e );
+                    } finally {
+                        chunksInFlight.release();
+                    }
+                } );
+            }
+
+            if ( !chunk.isEmpty() ) {
+                OverdueInstallmentDto last = chunk.get( chunk.size() - 1 );
+                afterDueDate = last.getDueDate();
+                afterId = last.getId();
+            }
+        } while ( chunk.size() == chunkSize && failure.get() == null );
+
+        // Wait for the last chunks to be written
+        chunksInFlight.acquireUninterruptibly( maxChunksInFlight );
+        chunksInFlight.release( maxChunksInFlight );
+        if ( failure.get() != null ) {
+            // Chunks already written stay written; the next run picks up the rest
+            throw failure.get();
+        }
+        return new DelinquencyRunDto( today, overdue, updated.get() );
+    }
+
+    private int write( List<Object[]> changes ) {
+        int[] counts = new TransactionTemplate( transactionManager )
+                .execute( status -> jdbcTemplate.batchUpdate( UPDATE_DELINQUENCY, changes ) );
+        int written = 0;
+        for ( int count : counts ) {
+            // Drivers may report a batched statement as executed without a row count
+            if ( count != 0 ) {
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private static BigDecimal accruedPenalty( BigDecimal amount, int daysPastDue ) {
+        try {
+            return BigDecimal.valueOf( FixedPointAdjustments.penaltyCents( FixedPointAdjustments.toCents( amount ), -daysPastDue ), 2 );
+        } catch ( ArithmeticException e ) {
+            // Fractions of a cent or amounts beyond a long, as PaymentService.calculateAdjustedAmount
+            return amount.multiply( BigDecimal.valueOf( 0.001 ) )
+                    .multiply( BigDecimal.valueOf( daysPastDue ) )
+                    .setScale( 2, RoundingMode.HALF_UP );
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
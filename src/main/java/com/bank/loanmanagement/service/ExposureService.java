@@ -0,0 +1,191 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.dto.DaysPastDueDto;
+import com.bank.loanmanagement.dto.ExposureDto;
+import com.bank.loanmanagement.dto.ExposureTotalDto;
+import com.bank.loanmanagement.dto.KeysetPageDto;
+import com.bank.loanmanagement.exception.InvalidParameterException;
+import com.bank.loanmanagement.exception.ResourceNotFoundException;
+import com.bank.loanmanagement.model.Customer;
+import com.bank.loanmanagement.model.ExposureBucket;
+import com.bank.loanmanagement.model.LoanInstallment;
+import com.bank.loanmanagement.repository.CustomerRepository;
+import com.bank.loanmanagement.repository.ExposureBucketRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the unpaid installments of every customer summed up per due date, and
+ * reports outstanding and overdue amounts from those sums. A report reads one
+ * row per customer and due date, however many loans and installments there are.
+ *
+ * The sums are updated in the transaction that schedules or settles the
+ * installments, after the loan or customer row has been locked.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Service
+public class ExposureService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final String CURRENT = "current";
+    // Upper bounds of the days past due buckets; anything beyond the last one is 90+
+    private static final int[] DAYS_PAST_DUE_LIMITS = { 30, 60, 90 };
+    private static final String[] DAYS_PAST_DUE_BUCKETS = { "1-30", "31-60", "61-90", "90+" };
+
+    @Autowired
+    private ExposureBucketRepository exposureBucketRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    // Adds newly scheduled installments to their customers' exposure
+    public void recordScheduled( List<LoanInstallment> installments ) {
+        apply( installments, 1 );
+    }
+
+    // Removes settled installments from their customers' exposure
+    public void recordSettled( List<LoanInstallment> installments ) {
+        apply( installments, -1 );
+    }
+
+    // Buckets reference their customer without being mapped to it, so they go first when it is deleted
+    public void deleteCustomerExposure( Long customerId ) {
+        exposureBucketRepository.deleteByCustomerId( customerId );
+    }
+
+    private void apply( List<LoanInstallment> installments, int sign ) {
+        // Customer id -> due date -> installments; customers are updated in id order, so that
+        // transactions touching several customers cannot deadlock on their buckets
+        Map<Long, Map<Long, List<LoanInstallment>>> installmentsByCustomer = new TreeMap<>();
+        for ( LoanInstallment installment : installments ) {
+            Customer customer = installment.getLoan().getCustomer();
+            if ( customer != null ) {
+                installmentsByCustomer.computeIfAbsent( customer.getId(), id -> new TreeMap<>() )
+                        .computeIfAbsent( installment.getDueDate().getTime(), dueDate -> new ArrayList<>() )
+                        .add( installment );
+            }
+        }
+
+        List<ExposureBucket> changedBuckets = new ArrayList<>();
+        installmentsByCustomer.forEach( ( customerId, installmentsByDueDate ) -> {
+            List<Date> dueDates = installmentsByDueDate.keySet().stream().map( Date::new ).collect( Collectors.toList() );
+            Map<Long, ExposureBucket> buckets = new HashMap<>();
+            for ( ExposureBucket bucket : exposureBucketRepository.findForUpdate( customerId, dueDates ) ) {
+                buckets.put( bucket.getDueDate().getTime(), bucket );
+            }
+
+            installmentsByDueDate.forEach( ( dueDate, dueInstallments ) -> {
+                // New buckets are only created while the customer row is locked by loan creation
+                ExposureBucket bucket = buckets.computeIfAbsent( dueDate,
+                        ignored -> new ExposureBucket( null, customerId, new Date( dueDate ), BigDecimal.ZERO, 0 ) );
+                for ( LoanInstallment installment : dueInstallments ) {
+                    BigDecimal amount = sign > 0 ? installment.getAmount() : installment.getAmount().negate();
+                    bucket.setUnpaidAmount( bucket.getUnpaidAmount().add( amount ) );
+                    bucket.setUnpaidCount( bucket.getUnpaidCount() + sign );
+                }
+                changedBuckets.add( bucket );
+            } );
+        } );
+
+        if ( !changedBuckets.isEmpty() ) {
+            exposureBucketRepository.saveAll( changedBuckets );
+        }
+    }
+
+    public ExposureDto getPortfolioExposure() {
+        return summarize( null, exposureBucketRepository.findTotalsByDueDate(), LocalDate.now() );
+    }
+
+    public ExposureDto getCustomerExposure( Long customerId ) {
+        // Verify customer
+        if ( !customerRepository.existsById( customerId ) ) {
+            throw new ResourceNotFoundException( "Customer not found" );
+        }
+
+        List<ExposureTotalDto> totals = exposureBucketRepository.findUnpaidByCustomerIdIn( List.of( customerId ) ).stream()
+                .map( ExposureService::toTotal )
+                .collect( Collectors.toList() );
+        return summarize( customerId, totals, LocalDate.now() );
+    }
+
+    // Customers with unpaid installments, one page at a time in id order
+    public KeysetPageDto<ExposureDto> getCustomerExposures( Long afterId, int size ) {
+        if ( size < 1 || size > MAX_PAGE_SIZE ) {
+            throw new InvalidParameterException( "Page size should be between 1 and " + MAX_PAGE_SIZE );
+        }
+        List<Long> customerIds = exposureBucketRepository.findCustomerIdsAfter( afterId == null ? 0L : afterId, Limit.of( size ) );
+
+        Map<Long, List<ExposureTotalDto>> totalsByCustomer = exposureBucketRepository.findUnpaidByCustomerIdIn( customerIds ).stream()
+                .collect( Collectors.groupingBy( ExposureBucket::getCustomerId,
+                        Collectors.mapping( ExposureService::toTotal, Collectors.toList() ) ) );
+        LocalDate today = LocalDate.now();
+        List<ExposureDto> exposures = customerIds.stream()
+                .map( customerId -> summarize( customerId, totalsByCustomer.getOrDefault( customerId, List.of() ), today ) )
+                .collect( Collectors.toList() );
+
+        Long nextAfterId = customerIds.size() < size ? null : customerIds.get( customerIds.size() - 1 );
+        return new KeysetPageDto<>( exposures, nextAfterId );
+    }
+
+    private static ExposureTotalDto toTotal( ExposureBucket bucket ) {
+        return new ExposureTotalDto( bucket.getDueDate(), bucket.getUnpaidAmount(), (long) bucket.getUnpaidCount() );
+    }
+
+    // An installment is overdue from the day after its due date, as in PaymentService
+    private static ExposureDto summarize( Long customerId, List<ExposureTotalDto> totals, LocalDate today ) {
+        BigDecimal[] amounts = new BigDecimal[DAYS_PAST_DUE_BUCKETS.length + 1];
+        long[] counts = new long[amounts.length];
+        Arrays.fill( amounts, BigDecimal.ZERO );
+
+        for ( ExposureTotalDto total : totals ) {
+            LocalDate dueDate = Instant.ofEpochMilli( total.getDueDate().getTime() ).atZone( ZoneId.systemDefault() ).toLocalDate();
+            int bucket = bucketOf( ChronoUnit.DAYS.between( dueDate, today ) );
+            amounts[bucket] = amounts[bucket].add( total.getUnpaidAmount() );
+            counts[bucket] += total.getUnpaidCount();
+        }
+
+        List<DaysPastDueDto> daysPastDue = new ArrayList<>( amounts.length );
+        daysPastDue.add( new DaysPastDueDto( CURRENT, amounts[0], counts[0] ) );
+        BigDecimal overdueAmount = BigDecimal.ZERO;
+        long overdueInstallments = 0;
+        for ( int i = 1; i < amounts.length; i++ ) {
+            daysPastDue.add( new DaysPastDueDto( DAYS_PAST_DUE_BUCKETS[i - 1], amounts[i], counts[i] ) );
+            overdueAmount = overdueAmount.add( amounts[i] );
+            overdueInstallments += counts[i];
+        }
+
+        return new ExposureDto( customerId, amounts[0].add( overdueAmount ), counts[0] + overdueInstallments,
+                overdueAmount, overdueInstallments, daysPastDue );
+    }
+
+    // 0 for installments not yet overdue, otherwise 1 + the index of the days past due bucket
+    private static int bucketOf( long daysPastDue ) {
+        if ( daysPastDue <= 0 ) {
+            return 0;
+        }
+        for ( int i = 0; i < DAYS_PAST_DUE_LIMITS.length; i++ ) {
+            if ( daysPastDue <= DAYS_PAST_DUE_LIMITS[i] ) {
+                return i + 1;
+            }
+        }
+        return DAYS_PAST_DUE_LIMITS.length + 1;
+    }
+}
@@ -0,0 +1,83 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.dto.PaymentResponseDto;
+import com.bank.loanmanagement.exception.InvalidParameterException;
+import com.bank.loanmanagement.model.IdempotencyRecord;
+import com.bank.loanmanagement.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * Makes payments safe to retry. A payment sent with an Idempotency-Key is
+ * applied at most once; replays return the original response, from memory
+ * while the key is cached and from the idempotency_record table afterwards.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Service
+public class IdempotentPaymentService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final Cache<String, IdempotencyRecord> recentPayments;
+
+    public IdempotentPaymentService(
+            @Value( "${loan.payment.idempotency.cache-size:100000}" ) long cacheSize,
+            @Value( "${loan.payment.idempotency.cache-ttl:24h}" ) Duration cacheTtl ) {
+        this.recentPayments = Caffeine.newBuilder()
+                .maximumSize( cacheSize )
+                .expireAfterWrite( cacheTtl )
+                .build();
+    }
+
+    public PaymentResponseDto payLoan( Long loanId, BigDecimal amount, String idempotencyKey ) {
+        if ( idempotencyKey == null || idempotencyKey.isBlank() ) {
+            return paymentService.payLoan( loanId, amount );
+        }
+        if ( idempotencyKey.length() > MAX_KEY_LENGTH ) {
+            throw new InvalidParameterException( "Idempotency-Key must not be longer than " + MAX_KEY_LENGTH + " characters" );
+        }
+
+        // Replay without touching the loan when the key has been seen before
+        IdempotencyRecord record = recentPayments.getIfPresent( idempotencyKey );
+        if ( record == null ) {
+            record = idempotencyRecordRepository.findById( idempotencyKey ).orElse( null );
+        }
+
+        if ( record == null ) {
+            try {
+                record = paymentService.payLoanOnce( loanId, amount, idempotencyKey );
+            } catch ( DataIntegrityViolationException e ) {
+                // A concurrent request with the same key won, ours has been rolled back
+                record = idempotencyRecordRepository.findById( idempotencyKey ).orElseThrow( () -> e );
+            }
+        }
+        recentPayments.put( idempotencyKey, record );
+
+        if ( !record.getLoanId().equals( loanId ) ) {
+            throw new InvalidParameterException( "Idempotency-Key has already been used for another loan" );
+        }
+        return new PaymentResponseDto(
+                record.getNumberOfInstallmentsPaid(),
+                record.getTotalAmountPaid(),
+                record.isLoanFullyPaid(),
+                record.getTotalDiscount(),
+                record.getTotalPenalty()
+        );
+    }
+}
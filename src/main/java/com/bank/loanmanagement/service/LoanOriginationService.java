@@ -0,0 +1,101 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.dto.LoanApplicationDto;
+import com.bank.loanmanagement.dto.LoanRequestDto;
+import com.bank.loanmanagement.dto.LoanResponseDto;
+import com.bank.loanmanagement.exception.ResourceNotFoundException;
+import com.bank.loanmanagement.exception.ServiceBusyException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Accepts loan applications and creates the loans in the background. A fixed
+ * number of workers take applications from a bounded queue, so a burst of
+ * applications waits in memory instead of tying up request threads and
+ * database connections; once the queue is full, applications are refused.
+ * The outcome of an application can be looked up by its id for a while.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Service
+public class LoanOriginationService {
+
+    @Autowired
+    private LoanService loanService;
+
+    private final ThreadPoolTaskExecutor executor;
+    private final Cache<String, LoanApplicationDto> applications;
+
+    public LoanOriginationService(
+            @Value( "${loan.origination.workers:4}" ) int workers,
+            @Value( "${loan.origination.queue-capacity:1000}" ) int queueCapacity,
+            @Value( "${loan.origination.status-cache-size:100000}" ) long statusCacheSize,
+            @Value( "${loan.origination.status-ttl:1h}" ) Duration statusTtl ) {
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize( workers );
+        executor.setMaxPoolSize( workers );
+        executor.setQueueCapacity( queueCapacity );
+        executor.setThreadNamePrefix( "loan-origination-" );
+        // Applications already accepted are finished before shutting down
+        executor.setWaitForTasksToCompleteOnShutdown( true );
+        executor.setAwaitTerminationSeconds( 30 );
+        executor.initialize();
+
+        // Bounded, so that a burst of applications cannot fill the heap before their statuses expire
+        this.applications = Caffeine.newBuilder()
+                .maximumSize( statusCacheSize )
+                .expireAfterWrite( statusTtl )
+                .build();
+    }
+
+    public LoanApplicationDto submit( LoanRequestDto request ) {
+        // Requests that can never succeed are rejected right away
+        loanService.validateLoanRequest( request );
+
+        String applicationId = UUID.randomUUID().toString();
+        LoanApplicationDto application = new LoanApplicationDto( applicationId, LoanApplicationDto.PENDING, null, null );
+        applications.put( applicationId, application );
+        try {
+            executor.execute( () -> process( applicationId, request ) );
+        } catch ( TaskRejectedException e ) {
+            applications.invalidate( applicationId );
+            throw new ServiceBusyException( "Too many loan applications, please retry later", e );
+        }
+        return application;
+    }
+
+    public LoanApplicationDto getApplication( String applicationId ) {
+        LoanApplicationDto application = applications.getIfPresent( applicationId );
+        if ( application == null ) {
+            throw new ResourceNotFoundException( "Loan application not found" );
+        }
+        return application;
+    }
+
+    private void process( String applicationId, LoanRequestDto request ) {
+        LoanApplicationDto outcome;
+        try {
+            LoanResponseDto loan = loanService.createLoan( request );
+            outcome = new LoanApplicationDto( applicationId, LoanApplicationDto.COMPLETED, null, loan );
+        } catch ( RuntimeException e ) {
+            outcome = new LoanApplicationDto( applicationId, LoanApplicationDto.FAILED, e.getMessage(), null );
+        }
+        applications.put( applicationId, outcome );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
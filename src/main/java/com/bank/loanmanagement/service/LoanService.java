@@ -1,29 +1,36 @@
 package com.bank.loanmanagement.service;
 
 import com.bank.loanmanagement.dto.InstallmentDto;
+import com.bank.loanmanagement.dto.KeysetPageDto;
+import com.bank.loanmanagement.dto.LedgerEntryDto;
 import com.bank.loanmanagement.dto.LoanRequestDto;
 import com.bank.loanmanagement.dto.LoanResponseDto;
 import com.bank.loanmanagement.dto.PaymentResponseDto;
 import com.bank.loanmanagement.exception.InsufficientCreditLimitException;
 import com.bank.loanmanagement.exception.ResourceNotFoundException;
 import com.bank.loanmanagement.exception.InvalidParameterException;
+import com.bank.loanmanagement.helpers.ScheduleTemplates;
 import com.bank.loanmanagement.model.Customer;
 import com.bank.loanmanagement.model.Loan;
 import com.bank.loanmanagement.model.LoanInstallment;
 import com.bank.loanmanagement.repository.CustomerRepository;
 import com.bank.loanmanagement.repository.LoanInstallmentRepository;
 import com.bank.loanmanagement.repository.LoanRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * @author Sayat Ertüfenk
@@ -33,6 +40,11 @@ import java.util.stream.Collectors;
 @Service
 public class LoanService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final Set<Integer> VALID_INSTALLMENTS = Set.of( 6, 9, 12, 24 );
+    private static final BigDecimal MIN_INTEREST_RATE = new BigDecimal( "0.1" );
+    private static final BigDecimal MAX_INTEREST_RATE = new BigDecimal( "0.5" );
+
     @Autowired
     private CustomerRepository customerRepository;
 
@@ -43,25 +55,57 @@ public class LoanService {
     private LoanInstallmentRepository installmentRepository;
 
     @Autowired
-    private PaymentService paymentService;
+    private IdempotentPaymentService idempotentPaymentService;
+
+    @Autowired
+    private ExposureService exposureService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    private final ScheduleTemplates scheduleTemplates = new ScheduleTemplates( ZoneId.systemDefault() );
 
 
     public List<LoanResponseDto> getAllLoans() {
-        List<Loan> loans = loanRepository.findAll();
-
-        // Convert loans to DTO
-        List<LoanResponseDto> loanDtos = loans.stream()
-                .map( loan -> new LoanResponseDto(
-                        loan.getId(),
-                        loan.getTotalAmount(),
-                        loan.getLoanAmount(),
-                        loan.getNumberOfInstallment(),
-                        loan.isPaid()
-                )).collect( Collectors.toList() );
-        return loanDtos;
+        return loanRepository.findAllResponses();
     }
 
+    public KeysetPageDto<LoanResponseDto> getAllLoans( Long afterId, int size ) {
+        if ( size < 1 || size > MAX_PAGE_SIZE ) {
+            throw new InvalidParameterException( "Page size should be between 1 and " + MAX_PAGE_SIZE );
+        }
+        List<LoanResponseDto> loanDtos = loanRepository.findResponsesAfter( afterId == null ? 0L : afterId, Limit.of( size ) );
+
+        Long nextAfterId = loanDtos.size() < size ? null : loanDtos.get( loanDtos.size() - 1 ).getLoanId();
+        return new KeysetPageDto<>( loanDtos, nextAfterId );
+    }
 
+    /**
+     * Hands every loan to the consumer in id order while reading them from a
+     * database cursor. Rows are projected straight into DTOs, so memory use does
+     * not grow with the number of loans.
+     */
+    @Transactional( readOnly = true )
+    public void streamAllLoans( Consumer<LoanResponseDto> consumer ) {
+        try ( Stream<LoanResponseDto> loans = loanRepository.streamAllResponses() ) {
+            loans.forEach( consumer );
+        }
+    }
+
+    /**
+     * Hands every installment, with the ids of its loan and customer, to the
+     * consumer in id order while reading them from a database cursor. As for
+     * the loans, memory use does not grow with the number of rows.
+     */
+    @Transactional( readOnly = true )
+    public void exportLedger( Consumer<LedgerEntryDto> consumer ) {
+        try ( Stream<LedgerEntryDto> entries = installmentRepository.streamLedger() ) {
+            entries.forEach( consumer );
+        }
+    }
+
+    @Timed( value = "loan.origination", histogram = true )
+    @Transactional
     public LoanResponseDto createLoan( LoanRequestDto request ) {
         // Verify customer
         Customer customer = customerRepository.findById( request.getCustomerId() )
@@ -71,8 +115,7 @@ public class LoanService {
         validateLoanRequest( request );
 
         // Calculate total loan amount
-        BigDecimal totalLoanAmount = request.getAmount()
-                .multiply( BigDecimal.ONE.add( request.getInterestRate() ) );
+        BigDecimal totalLoanAmount = totalAmount( request );
 
         // Compare with customer's credit limit
         BigDecimal newUsedCreditLimit = customer.getUsedCreditLimit().add( totalLoanAmount );
@@ -81,114 +124,104 @@ public class LoanService {
         }
 
         // Creation of loans and installments
-        Loan loan = new Loan();
-        loan.setCustomer( customer );
-        loan.setLoanAmount( request.getAmount() );
-        loan.setTotalAmount( totalLoanAmount );
-        loan.setNumberOfInstallment( request.getNumberOfInstallment() );
-        loan.setCreateDate( new Date() );
-        loan.setPaid( false );
-
-        loan = loanRepository.save( loan );
+        Loan loan = loanRepository.save( newLoan( customer, request, totalLoanAmount ) );
 
         // Calculate the installment amount
-        BigDecimal installmentAmount = totalLoanAmount.divide(
-                BigDecimal.valueOf( request.getNumberOfInstallment() ), 2, BigDecimal.ROUND_HALF_UP );
+        BigDecimal installmentAmount = installmentAmount( totalLoanAmount, request.getNumberOfInstallment() );
 
         // Create installments
         List<LoanInstallment> installments = createInstallments( loan, installmentAmount, request.getNumberOfInstallment() );
         installmentRepository.saveAll( installments );
 
-        // Update the customer's used credit limit
-        customer.setUsedCreditLimit( newUsedCreditLimit );
-        customerRepository.save( customer );
+        // Reserve the credit limit atomically. The check above may have read a stale value if
+        // another loan was created for the same customer concurrently; the conditional update
+        // cannot, and rolls the whole loan back if the limit has been used up in the meantime.
+        // It is done last so that the customer row is locked for as short as possible.
+        if ( customerRepository.reserveCredit( customer.getId(), totalLoanAmount ) == 0 ) {
+            throw new InsufficientCreditLimitException( "Insufficient credit limit" );
+        }
+        exposureService.recordScheduled( installments );
 
         // Preparing the response
-        return new LoanResponseDto(
+        LoanResponseDto response = new LoanResponseDto(
                 loan.getId(),
                 totalLoanAmount,
                 installmentAmount,
                 request.getNumberOfInstallment(),
                 loan.isPaid()
         );
+        outboxService.record( OutboxService.LOAN_CREATED, loan.getId(), response );
+        return response;
     }
 
-    private void validateLoanRequest( LoanRequestDto request ) {
-        List<Integer> validInstallments = Arrays.asList( 6, 9, 12, 24 );
-        if ( !validInstallments.contains( request.getNumberOfInstallment() ) ) {
+    void validateLoanRequest( LoanRequestDto request ) {
+        if ( !VALID_INSTALLMENTS.contains( request.getNumberOfInstallment() ) ) {
             throw new InvalidParameterException( "Invalid number of installments" );
         }
 
-        if ( request.getInterestRate().compareTo( new BigDecimal( "0.1" ) ) < 0 ||
-                request.getInterestRate().compareTo( new BigDecimal( "0.5" ) ) > 0 ) {
+        if ( request.getInterestRate().compareTo( MIN_INTEREST_RATE ) < 0 ||
+                request.getInterestRate().compareTo( MAX_INTEREST_RATE ) > 0 ) {
             throw new InvalidParameterException( "The interest rate should be between 0.1 and 0.5" );
         }
     }
 
-    private List<LoanInstallment> createInstallments( Loan loan, BigDecimal amount, int count ) {
-        List<LoanInstallment> installments = new ArrayList<>();
-        LocalDate dueDate = LocalDate.now().withDayOfMonth( 1 ).plusMonths( 1 );
+    static BigDecimal totalAmount( LoanRequestDto request ) {
+        return request.getAmount().multiply( BigDecimal.ONE.add( request.getInterestRate() ) );
+    }
+
+    static BigDecimal installmentAmount( BigDecimal totalLoanAmount, int count ) {
+        return totalLoanAmount.divide( BigDecimal.valueOf( count ), 2, BigDecimal.ROUND_HALF_UP );
+    }
+
+    static Loan newLoan( Customer customer, LoanRequestDto request, BigDecimal totalLoanAmount ) {
+        Loan loan = new Loan();
+        loan.setCustomer( customer );
+        loan.setLoanAmount( request.getAmount() );
+        loan.setTotalAmount( totalLoanAmount );
+        loan.setNumberOfInstallment( request.getNumberOfInstallment() );
+        loan.setCreateDate( new Date() );
+        loan.setPaid( false );
+        return loan;
+    }
+
+    List<LoanInstallment> createInstallments( Loan loan, BigDecimal amount, int count ) {
+        List<LoanInstallment> installments = new ArrayList<>( count );
+        long[] dueDates = scheduleTemplates.dueDates( YearMonth.now(), count );
 
-        for ( int i = 0; i < count; i++ ) {
+        for ( long dueDate : dueDates ) {
             LoanInstallment installment = new LoanInstallment();
             installment.setLoan( loan );
             installment.setAmount( amount );
-            installment.setDueDate( Date.from( dueDate.atStartOfDay( ZoneId.systemDefault() ).toInstant() ) );
+            installment.setDueDate( new Date( dueDate ) );
             installment.setPaid( false );
 
             installments.add( installment );
-            dueDate = dueDate.plusMonths( 1 );
         }
         return installments;
     }
 
     public List<LoanResponseDto> listLoans( Long customerId ) {
         // Verify customer
-        Customer customer = customerRepository.findById( customerId )
-                .orElseThrow( () -> new ResourceNotFoundException( "Customer not found" ) );
+        if ( !customerRepository.existsById( customerId ) ) {
+            throw new ResourceNotFoundException( "Customer not found" );
+        }
 
         // Get customer loans
-        List<Loan> loans = loanRepository.findByCustomerId( customerId );
-
-        // Convert loans to DTO
-        List<LoanResponseDto> loanDtos = loans.stream()
-                .map( loan -> new LoanResponseDto(
-                        loan.getId(),
-                        loan.getTotalAmount(),
-                        loan.getLoanAmount(),
-                        loan.getNumberOfInstallment(),
-                        loan.isPaid()
-                ) )
-                .collect( Collectors.toList() );
-
-        return loanDtos;
+        return loanRepository.findResponsesByCustomerId( customerId );
     }
 
     public List<InstallmentDto> listInstallments( Long loanId ) {
         // Check if the loan exists
-        Loan loan = loanRepository.findById( loanId )
-                .orElseThrow( () -> new ResourceNotFoundException( "Loan not found" ) );
+        if ( !loanRepository.existsById( loanId ) ) {
+            throw new ResourceNotFoundException( "Loan not found" );
+        }
 
         // Get installments for the loan
-        List<LoanInstallment> installments = installmentRepository.findByLoanId( loanId );
-
-        // Convert installments to DTO
-        List<InstallmentDto> installmentDtos = installments.stream()
-                .map( installment -> new InstallmentDto(
-                        installment.getId(),
-                        installment.getAmount(),
-                        installment.getPaidAmount(),
-                        installment.getDueDate(),
-                        installment.getPaymentDate(),
-                        installment.isPaid()
-                ) )
-                .collect( Collectors.toList() );
-
-        return installmentDtos;
+        return installmentRepository.findDtosByLoanId( loanId );
     }
 
-    public PaymentResponseDto payLoan( Long loanId, BigDecimal amount ) {
-        // Process payment via PaymentService
-        return paymentService.payLoan( loanId, amount );
+    public PaymentResponseDto payLoan( Long loanId, BigDecimal amount, String idempotencyKey ) {
+        // Process payment via PaymentService, replaying the original response for a repeated key
+        return idempotentPaymentService.payLoan( loanId, amount, idempotencyKey );
     }
 }
@@ -0,0 +1,110 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.dto.OutboxEventDto;
+import com.bank.loanmanagement.util.OutboxSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes the events in the outbox to the configured sink, oldest first, a
+ * batch at a time. Each batch is read, published and deleted in one
+ * transaction, so a batch is only deleted once the sink has accepted it; if
+ * the sink fails, or the instance stops after publishing but before the
+ * commit, the batch is published again later (at least once delivery).
+ *
+ * The outbox is read and deleted with plain JDBC: the rows map straight to
+ * the events the sink takes, and a relay running in the background does not
+ * add to the Hibernate statement counts of the requests running beside it.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Service
+public class OutboxRelay {
+
+    private static final Counter PUBLISHED = Counter.builder( "loan.outbox.published" )
+            .description( "Outbox events published to the sink" )
+            .register( Metrics.globalRegistry );
+
+    // The oldest events, locked so that relays of other instances wait instead of publishing them again
+    private static final String SELECT_OLDEST = "SELECT id, event_type, aggregate_id, created_at, payload " +
+            "FROM outbox_event ORDER BY id FETCH FIRST ? ROWS ONLY FOR UPDATE";
+    private static final String DELETE_EVENT = "DELETE FROM outbox_event WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OutboxSink sink;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value( "${loan.outbox.batch-size:500}" )
+    private int batchSize = 500;
+
+    private final ReentrantLock relaying = new ReentrantLock();
+
+    @Scheduled( fixedDelayString = "${loan.outbox.relay-delay:1000}" )
+    public void relayScheduled() {
+        if ( outboxService.takeCommitted() ) {
+            try {
+                relay();
+            } catch ( RuntimeException e ) {
+                // The failed batch is still in the outbox; try it again on the next run
+                outboxService.markCommitted();
+                throw e;
+            }
+        }
+    }
+
+    // Publishes every event written so far; returns how many were published
+    public int relay() {
+        relaying.lock();
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate( transactionManager );
+            int published = 0;
+            int batch;
+            do {
+                batch = transactionTemplate.execute( status -> publishBatch() );
+                published += batch;
+            } while ( batch == batchSize );
+            return published;
+        } finally {
+            relaying.unlock();
+        }
+    }
+
+    private int publishBatch() {
+        List<OutboxEventDto> events = jdbcTemplate.query( SELECT_OLDEST, ( rs, rowNum ) -> new OutboxEventDto(
+                rs.getLong( "id" ), rs.getString( "event_type" ), rs.getLong( "aggregate_id" ),
+                new Date( rs.getTimestamp( "created_at" ).getTime() ), rs.getString( "payload" ) ), batchSize );
+        if ( events.isEmpty() ) {
+            return 0;
+        }
+
+        sink.publish( events );
+        jdbcTemplate.batchUpdate( DELETE_EVENT, events.stream()
+                .map( event -> new Object[]{ event.getId() } )
+                .collect( Collectors.toList() ) );
+
+        PUBLISHED.increment( events.size() );
+        return events.size();
+    }
+}
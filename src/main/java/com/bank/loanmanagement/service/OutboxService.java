@@ -0,0 +1,73 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.model.OutboxEvent;
+import com.bank.loanmanagement.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Writes events to the outbox table. Events must be recorded in the
+ * transaction that makes the change they describe, so that they are committed
+ * or rolled back together with it; OutboxRelay publishes them afterwards.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Service
+public class OutboxService {
+
+    // Payload: LoanResponseDto
+    public static final String LOAN_CREATED = "LOAN_CREATED";
+    // Payload: PaymentResponseDto
+    public static final String PAYMENT_APPLIED = "PAYMENT_APPLIED";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Set when a transaction that recorded events commits, so that the scheduled relay does not poll an idle
+    // outbox; initially set, so events left by an earlier run of the application are relayed on startup
+    private final AtomicBoolean committed = new AtomicBoolean( true );
+
+    public void record( String eventType, Long loanId, Object payload ) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString( payload );
+        } catch ( JsonProcessingException e ) {
+            throw new IllegalStateException( "Cannot serialize " + eventType + " event", e );
+        }
+        // Inserted when the transaction is flushed, in a batch with the other events
+        outboxEventRepository.save( new OutboxEvent( null, eventType, loanId, json, new Date() ) );
+
+        if ( TransactionSynchronizationManager.isSynchronizationActive() ) {
+            TransactionSynchronizationManager.registerSynchronization( new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    markCommitted();
+                }
+            } );
+        } else {
+            markCommitted();
+        }
+    }
+
+    // Whether events have been committed since the last call
+    boolean takeCommitted() {
+        return committed.getAndSet( false );
+    }
+
+    // Also called by the relay when it fails, so that the unpublished events are tried again
+    void markCommitted() {
+        committed.set( true );
+    }
+}
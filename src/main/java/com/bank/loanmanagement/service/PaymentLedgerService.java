@@ -0,0 +1,246 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.dto.LedgerEntryDto;
+import com.bank.loanmanagement.dto.LedgerReplayDto;
+import com.bank.loanmanagement.dto.PaymentLedgerEntryDto;
+import com.bank.loanmanagement.exception.ResourceNotFoundException;
+import com.bank.loanmanagement.exception.ServiceBusyException;
+import com.bank.loanmanagement.model.Loan;
+import com.bank.loanmanagement.model.LoanInstallment;
+import com.bank.loanmanagement.model.PaymentLedgerEntry;
+import com.bank.loanmanagement.repository.LoanInstallmentRepository;
+import com.bank.loanmanagement.repository.LoanRepository;
+import com.bank.loanmanagement.repository.PaymentLedgerEntryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The append-only payment ledger. Every installment settled by a payment gets
+ * an entry, inserted in the payment's transaction; entries are never updated
+ * or deleted, not even with their customer. The paid state of the installments and loans is a projection of
+ * the ledger: an installment is paid when it has entries, for their total
+ * amount and on the date of the latest.
+ *
+ * The projection is still updated by the payment itself, so reads stay as
+ * they are. A replay checks it against the ledger in one sequential pass,
+ * merging the installments in id order with the entries in installment order,
+ * and can set the installments that differ back to their replayed state.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Service
+public class PaymentLedgerService {
+
+    private static final String INSERT_ENTRY = "INSERT INTO payment_ledger_entry " +
+            "(id, loan_id, installment_id, amount, discount, penalty, payment_date, recorded_at) " +
+            "VALUES (NEXT VALUE FOR payment_ledger_entry_seq, ?, ?, ?, ?, ?, ?, ?)";
+    // Mismatched installment ids listed in a replay result
+    private static final int MAX_LISTED_MISMATCHES = 100;
+
+    @Autowired
+    private PaymentLedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanInstallmentRepository installmentRepository;
+
+    @Autowired
+    private ExposureService exposureService;
+
+    @Autowired
+    private PaymentQuoteCache quoteCache;
+
+    // Entries are inserted as one JDBC batch, with ids from the sequence, so appending costs one round trip
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value( "${loan.ledger.repair.chunk-size:500}" )
+    private int repairChunkSize = 500;
+
+    private final ReentrantLock replaying = new ReentrantLock();
+
+    // Must be called in the transaction that settles the installments
+    public void append( List<PaymentLedgerEntry> entries ) {
+        if ( entries.isEmpty() ) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>( entries.size() );
+        for ( PaymentLedgerEntry entry : entries ) {
+            rows.add( new Object[]{ entry.getLoanId(), entry.getInstallmentId(), entry.getAmount(), entry.getDiscount(),
+                    entry.getPenalty(), new Timestamp( entry.getPaymentDate().getTime() ), new Timestamp( entry.getRecordedAt().getTime() ) } );
+        }
+        jdbcTemplate.batchUpdate( INSERT_ENTRY, rows );
+    }
+
+    public List<PaymentLedgerEntryDto> getLoanLedger( Long loanId ) {
+        if ( !loanRepository.existsById( loanId ) ) {
+            throw new ResourceNotFoundException( "Loan not found" );
+        }
+        return ledgerEntryRepository.findDtosByLoanId( loanId );
+    }
+
+    /**
+     * Replays the whole ledger against the installments. With repair, the
+     * installments that differ, and their loans and exposure, are then set to
+     * the replayed state a chunk of loans at a time; each chunk locks its loans
+     * and reads their entries again, so payments made since the replay are
+     * not undone.
+     */
+    public LedgerReplayDto replay( boolean repair ) {
+        if ( !replaying.tryLock() ) {
+            throw new ServiceBusyException( "A ledger replay is already running" );
+        }
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate( transactionManager );
+            transactionTemplate.setReadOnly( true );
+            Replay replay = transactionTemplate.execute( status -> compare() );
+
+            long repaired = 0;
+            if ( repair ) {
+                List<Long> loanIds = new ArrayList<>( replay.mismatchedLoanIds );
+                for ( int from = 0; from < loanIds.size(); from += repairChunkSize ) {
+                    repaired += repairChunk( loanIds.subList( from, Math.min( from + repairChunkSize, loanIds.size() ) ) );
+                }
+            }
+            return new LedgerReplayDto( replay.entries, replay.installments, replay.mismatchedInstallments,
+                    replay.mismatchedInstallmentIds, repaired );
+        } finally {
+            replaying.unlock();
+        }
+    }
+
+    // Must be called in a transaction, which keeps both cursors open
+    private Replay compare() {
+        Replay replay = new Replay();
+        try ( Stream<LedgerEntryDto> installments = installmentRepository.streamLedger();
+              Stream<PaymentLedgerEntryDto> entries = ledgerEntryRepository.streamByInstallment() ) {
+            Iterator<PaymentLedgerEntryDto> entryIterator = entries.iterator();
+            PaymentLedgerEntryDto entry = entryIterator.hasNext() ? entryIterator.next() : null;
+
+            for ( Iterator<LedgerEntryDto> installmentIterator = installments.iterator(); installmentIterator.hasNext(); ) {
+                LedgerEntryDto installment = installmentIterator.next();
+                replay.installments++;
+
+                // Both are in installment id order; entries of deleted installments, or of installments
+                // without a loan, are passed over
+                while ( entry != null && entry.getInstallmentId() < installment.getInstallmentId() ) {
+                    entry = entryIterator.hasNext() ? entryIterator.next() : null;
+                }
+                InstallmentState state = new InstallmentState();
+                while ( entry != null && entry.getInstallmentId().equals( installment.getInstallmentId() ) ) {
+                    state.apply( entry.getAmount(), entry.getPaymentDate() );
+                    replay.entries++;
+                    entry = entryIterator.hasNext() ? entryIterator.next() : null;
+                }
+
+                if ( !state.matches( installment.isPaid(), installment.getPaidAmount(), installment.getPaymentDate() ) ) {
+                    replay.mismatchedInstallments++;
+                    replay.mismatchedLoanIds.add( installment.getLoanId() );
+                    if ( replay.mismatchedInstallmentIds.size() < MAX_LISTED_MISMATCHES ) {
+                        replay.mismatchedInstallmentIds.add( installment.getInstallmentId() );
+                    }
+                }
+            }
+        }
+        return replay;
+    }
+
+    private int repairChunk( List<Long> loanIds ) {
+        int repaired = new TransactionTemplate( transactionManager ).execute( status -> {
+            // Locked as by payments, so the entries read next are all there are
+            List<Loan> loans = loanRepository.findAllByIdForUpdate( loanIds );
+            Map<Long, InstallmentState> states = new HashMap<>();
+            for ( PaymentLedgerEntry entry : ledgerEntryRepository.findByLoanIdInOrderById( loanIds ) ) {
+                states.computeIfAbsent( entry.getInstallmentId(), id -> new InstallmentState() )
+                        .apply( entry.getAmount(), entry.getPaymentDate() );
+            }
+
+            List<LoanInstallment> changed = new ArrayList<>();
+            List<LoanInstallment> settled = new ArrayList<>();
+            List<LoanInstallment> reopened = new ArrayList<>();
+            Map<Long, Boolean> allPaid = new HashMap<>();
+            for ( LoanInstallment installment : installmentRepository.findByLoanIdIn( loanIds ) ) {
+                InstallmentState state = states.getOrDefault( installment.getId(), new InstallmentState() );
+                if ( !state.matches( installment.isPaid(), installment.getPaidAmount(), installment.getPaymentDate() ) ) {
+                    if ( state.paid != installment.isPaid() ) {
+                        ( state.paid ? settled : reopened ).add( installment );
+                    }
+                    installment.setPaid( state.paid );
+                    installment.setPaidAmount( state.paidAmount );
+                    installment.setPaymentDate( state.paymentDate );
+                    changed.add( installment );
+                }
+                allPaid.merge( installment.getLoan().getId(), installment.isPaid(), Boolean::logicalAnd );
+            }
+
+            installmentRepository.saveAll( changed );
+            exposureService.recordSettled( settled );
+            exposureService.recordScheduled( reopened );
+
+            // A loan is paid when all of its installments are
+            List<Loan> changedLoans = loans.stream()
+                    .filter( loan -> allPaid.containsKey( loan.getId() ) && allPaid.get( loan.getId() ) != loan.isPaid() )
+                    .collect( Collectors.toList() );
+            changedLoans.forEach( loan -> loan.setPaid( !loan.isPaid() ) );
+            loanRepository.saveAll( changedLoans );
+            return changed.size();
+        } );
+        quoteCache.evictAll( loanIds );
+        return repaired;
+    }
+
+    // The counts of a replay, and what to repair
+    private static class Replay {
+        private long entries;
+        private long installments;
+        private long mismatchedInstallments;
+        private final List<Long> mismatchedInstallmentIds = new ArrayList<>();
+        // In id order, the order loans are locked in
+        private final Set<Long> mismatchedLoanIds = new TreeSet<>();
+    }
+
+    // The state of an installment replayed from its entries
+    private static class InstallmentState {
+        private boolean paid;
+        private BigDecimal paidAmount = BigDecimal.ZERO;
+        private Date paymentDate;
+
+        private void apply( BigDecimal amount, Date paymentDate ) {
+            this.paid = true;
+            this.paidAmount = paidAmount.add( amount );
+            this.paymentDate = paymentDate;
+        }
+
+        private boolean matches( boolean isPaid, BigDecimal paidAmount, Date paymentDate ) {
+            return paid == isPaid
+                    && this.paidAmount.compareTo( paidAmount != null ? paidAmount : BigDecimal.ZERO ) == 0
+                    // Compared by instant, as a Timestamp never equals a Date
+                    && ( this.paymentDate == null ? paymentDate == null : paymentDate != null && this.paymentDate.getTime() == paymentDate.getTime() );
+        }
+    }
+}
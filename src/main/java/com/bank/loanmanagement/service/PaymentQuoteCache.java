@@ -0,0 +1,91 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.dto.PaymentQuoteDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.function.Function;
+
+/**
+ * The latest payment quote of each loan. A quote is only valid on the day it
+ * was computed, because discounts and penalties change with the date, so it
+ * expires at the end of that day, or after the TTL if that comes first. A
+ * payment evicts the quote of its loan once it has been committed.
+ *
+ * Quotes are loaded atomically per loan, and an eviction waits for a load in
+ * progress, so a quote read before a payment committed never outlives it.
+ * The cache is local to this instance; payments made through another instance
+ * are only seen when the quote expires, hence the short TTL.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Component
+public class PaymentQuoteCache {
+
+    private final Cache<Long, PaymentQuoteDto> quotes;
+
+    public PaymentQuoteCache(
+            @Value( "${loan.quote.cache.size:10000}" ) long size,
+            @Value( "${loan.quote.cache.ttl:1m}" ) Duration ttl ) {
+        this.quotes = Caffeine.newBuilder()
+                .maximumSize( size )
+                .expireAfter( new EndOfDayExpiry( ttl ) )
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor( Metrics.globalRegistry, quotes, "loan.quotes" );
+    }
+
+    public PaymentQuoteDto get( Long loanId, LocalDate today, Function<Long, PaymentQuoteDto> loader ) {
+        PaymentQuoteDto quote = quotes.get( loanId, loader );
+        if ( !today.equals( quote.getQuoteDate() ) ) {
+            // Loaded just before midnight and not expired yet
+            quotes.invalidate( loanId );
+            quote = quotes.get( loanId, loader );
+        }
+        return quote;
+    }
+
+    public void evict( Long loanId ) {
+        quotes.invalidate( loanId );
+    }
+
+    public void evictAll( Iterable<Long> loanIds ) {
+        quotes.invalidateAll( loanIds );
+    }
+
+    // A quote is kept until the end of its quote date, but no longer than the TTL
+    private static class EndOfDayExpiry implements Expiry<Long, PaymentQuoteDto> {
+        private final long ttlNanos;
+
+        EndOfDayExpiry( Duration ttl ) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate( Long loanId, PaymentQuoteDto quote, long currentTime ) {
+            long millisLeft = quote.getQuoteDate().plusDays( 1 ).atStartOfDay( ZoneId.systemDefault() ).toInstant().toEpochMilli()
+                    - System.currentTimeMillis();
+            return Math.min( Duration.ofMillis( Math.max( millisLeft, 0 ) ).toNanos(), ttlNanos );
+        }
+
+        @Override
+        public long expireAfterUpdate( Long loanId, PaymentQuoteDto quote, long currentTime, long currentDuration ) {
+            return expireAfterCreate( loanId, quote, currentTime );
+        }
+
+        @Override
+        public long expireAfterRead( Long loanId, PaymentQuoteDto quote, long currentTime, long currentDuration ) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,23 +1,42 @@
 package com.bank.loanmanagement.service;
 
+import com.bank.loanmanagement.dto.InstallmentQuoteDto;
+import com.bank.loanmanagement.dto.PaymentQuoteDto;
 import com.bank.loanmanagement.dto.PaymentResponseDto;
 import com.bank.loanmanagement.exception.ResourceNotFoundException;
 import com.bank.loanmanagement.helpers.AdjustmentResult;
+import com.bank.loanmanagement.helpers.FixedPointAdjustments;
+import com.bank.loanmanagement.helpers.PaymentAllocation;
+import com.bank.loanmanagement.model.IdempotencyRecord;
 import com.bank.loanmanagement.model.Loan;
 import com.bank.loanmanagement.model.LoanInstallment;
+import com.bank.loanmanagement.model.PaymentLedgerEntry;
+import com.bank.loanmanagement.repository.IdempotencyRecordRepository;
 import com.bank.loanmanagement.repository.LoanInstallmentRepository;
 import com.bank.loanmanagement.repository.LoanRepository;
+import com.bank.loanmanagement.util.StripedLocks;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.TimeZone;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * @author Sayat Ertüfenk
@@ -27,71 +46,303 @@ import java.util.List;
 @Service
 public class PaymentService {
 
+    private static final int LOCK_STRIPES = 256;
+
+    // Registered with the global registry, which the application's registry is added to
+    private static final Timer ALLOCATION_TIMER = Timer.builder( "loan.payment.allocation" )
+            .description( "Time spent allocating a payment to installments" )
+            .publishPercentileHistogram()
+            .register( Metrics.globalRegistry );
+    private static final DistributionSummary INSTALLMENTS_SETTLED = DistributionSummary.builder( "loan.payment.installments.settled" )
+            .description( "Installments settled per payment" )
+            .publishPercentileHistogram()
+            .register( Metrics.globalRegistry );
+
     @Autowired
     private LoanRepository loanRepository;
 
     @Autowired
     private LoanInstallmentRepository installmentRepository;
 
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ExposureService exposureService;
+
+    @Autowired
+    private PaymentQuoteCache quoteCache;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private PaymentLedgerService paymentLedgerService;
+
+    private final StripedLocks loanLocks = new StripedLocks( LOCK_STRIPES );
+
+    // Payments are dated, and due dates resolved to days, in the default zone as of startup. Resolving
+    // against a cached TimeZone of the same zone avoids a LocalDate per installment
+    private final ZoneId zoneId = ZoneId.systemDefault();
+    private final TimeZone timeZone = TimeZone.getTimeZone( zoneId );
+
+    /**
+     * Pays the loan in a single transaction. The settled installments and their
+     * ledger entries are written as one JDBC batch each, and the loan row only
+     * when it becomes paid, so the number of round trips does not depend on how
+     * many installments the payment covers. Payments of the same loan are
+     * applied one at a time.
+     */
+    @Timed( value = "loan.payment", extraTags = { "idempotent", "false" }, histogram = true )
     public PaymentResponseDto payLoan( Long loanId, BigDecimal amount ) {
-        Loan loan = loanRepository.findById( loanId )
+        return inLoanTransaction( loanId, () -> applyPayment( loanId, amount ) );
+    }
+
+    /**
+     * Pays the loan and records the outcome under the idempotency key in the same
+     * transaction, so a payment is never applied without its record or vice versa.
+     * Returns the recorded outcome instead, without paying, if a request with the
+     * same key paid the loan while this one waited for the loan's lock. Fails with
+     * a DataIntegrityViolationException, rolling the payment back, if a concurrent
+     * request has recorded the key otherwise, e.g. for another loan.
+     */
+    @Timed( value = "loan.payment", extraTags = { "idempotent", "true" }, histogram = true )
+    public IdempotencyRecord payLoanOnce( Long loanId, BigDecimal amount, String idempotencyKey ) {
+        return inLoanTransaction( loanId, () -> {
+            // The caller's check ran before the lock was taken; payments of this loan since then are committed
+            IdempotencyRecord recorded = idempotencyRecordRepository.findById( idempotencyKey ).orElse( null );
+            if ( recorded != null ) {
+                return recorded;
+            }
+
+            PaymentResponseDto response = applyPayment( loanId, amount );
+
+            IdempotencyRecord record = new IdempotencyRecord(
+                    idempotencyKey,
+                    loanId,
+                    response.getNumberOfInstallmentsPaid(),
+                    response.getTotalAmountPaid(),
+                    response.isLoanFullyPaid(),
+                    response.getTotalDiscount(),
+                    response.getTotalPenalty(),
+                    new Date()
+            );
+            return idempotencyRecordRepository.saveAndFlush( record );
+        } );
+    }
+
+    /**
+     * Runs the work in a transaction while holding the loan's lock. Payments of
+     * the same loan queue up in memory rather than each holding a connection
+     * while waiting for the row lock; the row lock still protects against other
+     * instances and the batch path. The lock is taken outside the transaction
+     * and released after the commit, so the next payment sees committed state.
+     */
+    private <T> T inLoanTransaction( Long loanId, Supplier<T> work ) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate( transactionManager );
+        return loanLocks.withLock( loanId, () -> {
+            T result = transactionTemplate.execute( status -> work.get() );
+            quoteCache.evict( loanId );
+            return result;
+        } );
+    }
+
+    /**
+     * Quotes what paying the loan today would cost, allocating exactly as a
+     * payment would but without writing anything. Quotes are cached per loan
+     * until the end of the day or the next payment of the loan, so repeated
+     * balance checks do not read the installments again.
+     */
+    public PaymentQuoteDto quoteLoan( Long loanId ) {
+        LocalDate currentDate = today();
+        return quoteCache.get( loanId, currentDate, id -> quote( id, currentDate ) );
+    }
+
+    private PaymentQuoteDto quote( Long loanId, LocalDate currentDate ) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate( transactionManager );
+        transactionTemplate.setReadOnly( true );
+        return transactionTemplate.execute( status -> {
+            if ( !loanRepository.existsById( loanId ) ) {
+                throw new ResourceNotFoundException( "Loan not found" );
+            }
+
+            Date horizon = payableHorizon( currentDate );
+            long paymentEpochDay = currentDate.toEpochDay();
+            List<InstallmentQuoteDto> installments = new ArrayList<>();
+            BigDecimal payoffAmount = BigDecimal.ZERO;
+            BigDecimal totalDiscount = BigDecimal.ZERO;
+            BigDecimal totalPenalty = BigDecimal.ZERO;
+
+            for ( LoanInstallment installment : installmentRepository.findPayableInstallments( loanId, horizon ) ) {
+                AdjustmentResult adjustment = adjustment( installment, paymentEpochDay, currentDate );
+                installments.add( new InstallmentQuoteDto( installment.getId(), installment.getDueDate(), installment.getAmount(),
+                        adjustment.getAdjustedAmount(), adjustment.getDiscount(), adjustment.getPenalty() ) );
+                payoffAmount = payoffAmount.add( adjustment.getAdjustedAmount() );
+                totalDiscount = totalDiscount.add( adjustment.getDiscount() );
+                totalPenalty = totalPenalty.add( adjustment.getPenalty() );
+            }
+
+            boolean isLoanFullyPaidByPayoff = installmentRepository.countUnpaidDueFrom( loanId, horizon ) == 0;
+            return new PaymentQuoteDto( loanId, currentDate, List.copyOf( installments ),
+                    payoffAmount, totalDiscount, totalPenalty, isLoanFullyPaidByPayoff );
+        } );
+    }
+
+    // The same amounts allocate() settles an installment for, as BigDecimals
+    private AdjustmentResult adjustment( LoanInstallment installment, long paymentEpochDay, LocalDate currentDate ) {
+        try {
+            long cents = FixedPointAdjustments.toCents( installment.getAmount() );
+            long daysUntilDue = FixedPointAdjustments.daysUntilDue( installment.getDueDate(), paymentEpochDay, timeZone );
+            return new AdjustmentResult(
+                    BigDecimal.valueOf( FixedPointAdjustments.adjustedCents( cents, daysUntilDue ), 2 ),
+                    BigDecimal.valueOf( FixedPointAdjustments.discountCents( cents, daysUntilDue ), 2 ),
+                    BigDecimal.valueOf( FixedPointAdjustments.penaltyCents( cents, daysUntilDue ), 2 ) );
+        } catch ( ArithmeticException e ) {
+            return calculateAdjustedAmount( installment, currentDate );
+        }
+    }
+
+    private PaymentResponseDto applyPayment( Long loanId, BigDecimal amount ) {
+        Loan loan = loanRepository.findByIdForUpdate( loanId )
                 .orElseThrow( () -> new ResourceNotFoundException( "Loan not found" ) );
+        boolean wasPaid = loan.isPaid();
 
-        List<LoanInstallment> installments = installmentRepository.findByLoanId( loanId );
-        installments.sort( Comparator.comparing( LoanInstallment::getDueDate ) );
+        // Only the installments that can be paid now are read, already in due date order
+        LocalDate currentDate = today();
+        Date horizon = payableHorizon( currentDate );
+        List<LoanInstallment> payableInstallments = installmentRepository.findPayableInstallments( loanId, horizon );
 
-        int installmentsPaid = 0;
-        BigDecimal totalPaid = BigDecimal.ZERO;
-        BigDecimal totalDiscount = BigDecimal.ZERO;
-        BigDecimal totalPenalty = BigDecimal.ZERO;
-        LocalDate currentDate = LocalDate.now();
-        LocalDate maxPayableDate = currentDate.plusMonths( 3 ).withDayOfMonth( 1 );
+        PaymentAllocation allocation = allocate( loan, payableInstallments, amount, currentDate,
+                () -> installmentRepository.countUnpaidDueFrom( loanId, horizon ) > 0 );
+        paymentLedgerService.append( allocation.getLedgerEntries() );
+        installmentRepository.saveAll( allocation.getSettledInstallments() );
+        exposureService.recordSettled( allocation.getSettledInstallments() );
+        if ( loan.isPaid() != wasPaid ) {
+            loanRepository.save( loan );
+        }
+        if ( !allocation.getSettledInstallments().isEmpty() ) {
+            outboxService.record( OutboxService.PAYMENT_APPLIED, loanId, allocation.getResponse() );
+        }
 
-        for ( LoanInstallment installment : installments ) {
-            if ( installment.isPaid() ) continue;
-            LocalDate dueDate = Instant.ofEpochMilli( installment.getDueDate().getTime() )
-                    .atZone( ZoneId.systemDefault() ).toLocalDate();
+        return allocation.getResponse();
+    }
 
-            // Installments with a due date more than 3 months in the future cannot be paid.
-            if ( dueDate.isAfter( maxPayableDate ) ) break;
+    // The date payments made now are dated, in the zone due dates are resolved in
+    public LocalDate today() {
+        return LocalDate.now( zoneId );
+    }
 
-            // Reward and Punishment Calculation
-            AdjustmentResult adjustmentResult = calculateAdjustedAmount( installment, currentDate );
+    /**
+     * Applies a payment to the given installments of a loan, earliest due first.
+     * The installments and the loan are updated in memory only; persisting the
+     * settled installments, their ledger entries and the loan is up to the caller.
+     */
+    public PaymentAllocation allocatePayment( Loan loan, List<LoanInstallment> installments, BigDecimal amount, LocalDate currentDate ) {
+        // Installments with a due date more than 3 months in the future cannot be paid.
+        Date horizon = payableHorizon( currentDate );
+        List<LoanInstallment> payableInstallments = installments.stream()
+                .filter( installment -> !installment.isPaid() && installment.getDueDate().before( horizon ) )
+                .sorted( Comparator.comparing( LoanInstallment::getDueDate ) )
+                .collect( Collectors.toList() );
 
-            BigDecimal adjustedAmount = adjustmentResult.getAdjustedAmount();
-            BigDecimal discount = adjustmentResult.getDiscount();
-            BigDecimal penalty = adjustmentResult.getPenalty();
+        return allocate( loan, payableInstallments, amount, currentDate,
+                () -> installments.stream().anyMatch( installment -> !installment.isPaid() ) );
+    }
 
-            if ( amount.compareTo( adjustedAmount ) >= 0 ) {
+    /**
+     * Settles the payable installments, which must be unpaid and sorted by due
+     * date, for as long as the amount covers them. The loan is fully paid when
+     * all of them are settled and no unpaid installment remains beyond the
+     * horizon; that is only checked when it can still be the case.
+     */
+    private PaymentAllocation allocate( Loan loan, List<LoanInstallment> payableInstallments, BigDecimal amount,
+                                        LocalDate currentDate, BooleanSupplier hasUnpaidBeyondHorizon ) {
+        Timer.Sample sample = Timer.start();
+        List<LoanInstallment> settledInstallments = new ArrayList<>();
+        List<PaymentLedgerEntry> ledgerEntries = new ArrayList<>();
+        Date recordedAt = new Date();
+        long paymentEpochDay = currentDate.toEpochDay();
+        long paymentMillis = currentDate.atStartOfDay( zoneId ).toInstant().toEpochMilli();
+
+        // Money is tracked in whole cents. Every adjusted amount is a whole number of cents, so
+        // comparing it with the whole cents left of the payment is the same as comparing amounts.
+        long remainingCents = FixedPointAdjustments.floorCents( amount );
+        long totalPaidCents = 0;
+        long totalDiscountCents = 0;
+        long totalPenaltyCents = 0;
+
+        for ( LoanInstallment installment : payableInstallments ) {
+            // Reward and Punishment Calculation
+            long adjustedCents;
+            long discountCents;
+            long penaltyCents;
+            try {
+                long cents = FixedPointAdjustments.toCents( installment.getAmount() );
+                long daysUntilDue = FixedPointAdjustments.daysUntilDue( installment.getDueDate(), paymentEpochDay, timeZone );
+                adjustedCents = FixedPointAdjustments.adjustedCents( cents, daysUntilDue );
+                discountCents = FixedPointAdjustments.discountCents( cents, daysUntilDue );
+                penaltyCents = FixedPointAdjustments.penaltyCents( cents, daysUntilDue );
+            } catch ( ArithmeticException e ) {
+                // Fractions of a cent or amounts beyond a long, which the BigDecimal rules still handle
+                AdjustmentResult adjustmentResult = calculateAdjustedAmount( installment, currentDate );
+                adjustedCents = FixedPointAdjustments.toCents( adjustmentResult.getAdjustedAmount() );
+                discountCents = FixedPointAdjustments.toCents( adjustmentResult.getDiscount() );
+                penaltyCents = FixedPointAdjustments.toCents( adjustmentResult.getPenalty() );
+            }
+
+            if ( remainingCents >= adjustedCents ) {
                 // Payment process
                 installment.setPaid( true );
-                installment.setPaymentDate( Date.from( currentDate.atStartOfDay( ZoneId.systemDefault() ).toInstant() ) );
-                installment.setPaidAmount( adjustedAmount );
-                installmentRepository.save( installment );
+                installment.setPaymentDate( new Date( paymentMillis ) );
+                installment.setPaidAmount( BigDecimal.valueOf( adjustedCents, 2 ) );
+                // No longer delinquent; the penalty actually charged is part of the paid amount
+                installment.setDaysPastDue( 0 );
+                installment.setAccruedPenalty( BigDecimal.ZERO );
+                settledInstallments.add( installment );
+                ledgerEntries.add( new PaymentLedgerEntry( null, loan.getId(), installment.getId(), installment.getPaidAmount(),
+                        BigDecimal.valueOf( discountCents, 2 ), BigDecimal.valueOf( penaltyCents, 2 ),
+                        installment.getPaymentDate(), recordedAt ) );
 
-                amount = amount.subtract( adjustedAmount );
-                totalPaid = totalPaid.add( adjustedAmount );
-                installmentsPaid++;
+                remainingCents -= adjustedCents;
+                totalPaidCents += adjustedCents;
 
                 // Update total discount and penalty amounts
-                totalDiscount = totalDiscount.add( discount );
-                totalPenalty = totalPenalty.add( penalty );
+                totalDiscountCents += discountCents;
+                totalPenaltyCents += penaltyCents;
             } else {
                 break;
             }
         }
 
+        // Totals keep the scale they had when summed as BigDecimals from zero
+        boolean anySettled = !settledInstallments.isEmpty();
+        BigDecimal totalPaid = anySettled ? BigDecimal.valueOf( totalPaidCents, 2 ) : BigDecimal.ZERO;
+        BigDecimal totalDiscount = anySettled ? BigDecimal.valueOf( totalDiscountCents, 2 ) : BigDecimal.ZERO;
+        BigDecimal totalPenalty = anySettled ? BigDecimal.valueOf( totalPenaltyCents, 2 ) : BigDecimal.ZERO;
+
         // Check if the loan is fully paid
-        boolean isLoanFullyPaid = installments.stream().allMatch( LoanInstallment::isPaid );
+        boolean isLoanFullyPaid = settledInstallments.size() == payableInstallments.size()
+                && !hasUnpaidBeyondHorizon.getAsBoolean();
         loan.setPaid( isLoanFullyPaid );
-        loanRepository.save( loan );
 
-        return new PaymentResponseDto( installmentsPaid, totalPaid, isLoanFullyPaid, totalDiscount, totalPenalty );
+        sample.stop( ALLOCATION_TIMER );
+        INSTALLMENTS_SETTLED.record( settledInstallments.size() );
+        return new PaymentAllocation( settledInstallments, ledgerEntries,
+                new PaymentResponseDto( settledInstallments.size(), totalPaid, isLoanFullyPaid, totalDiscount, totalPenalty ) );
+    }
+
+    // Start of the first day that can no longer be paid: the 1st of the month 3 months ahead is still payable
+    private Date payableHorizon( LocalDate currentDate ) {
+        LocalDate maxPayableDate = currentDate.plusMonths( 3 ).withDayOfMonth( 1 );
+        return Date.from( maxPayableDate.plusDays( 1 ).atStartOfDay( zoneId ).toInstant() );
     }
 
-    private AdjustmentResult calculateAdjustedAmount( LoanInstallment installment, LocalDate paymentDate ) {
+    AdjustmentResult calculateAdjustedAmount( LoanInstallment installment, LocalDate paymentDate ) {
         LocalDate dueDate = Instant.ofEpochMilli( installment.getDueDate().getTime() )
-                .atZone( ZoneId.systemDefault() ).toLocalDate();
+                .atZone( zoneId ).toLocalDate();
 
         BigDecimal originalAmount = installment.getAmount();
         BigDecimal adjustedAmount = originalAmount;
@@ -0,0 +1,44 @@
+package com.bank.loanmanagement.util;
+
+import com.bank.loanmanagement.dto.BatchPaymentRowDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.math.BigDecimal;
+
+/**
+ * Reads payment rows from an uploaded payment file: CSV ({@code loanId,amount})
+ * or JSON lines ({@code {"loanId": 1, "amount": 100.00}}).
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public class BatchPaymentReader extends LineFileReader<BatchPaymentRowDto> {
+
+    private BatchPaymentReader( BufferedReader reader, ObjectMapper objectMapper ) {
+        super( reader, objectMapper, "loanId", "amount" );
+    }
+
+    public static BatchPaymentReader csv( BufferedReader reader ) {
+        return new BatchPaymentReader( reader, null );
+    }
+
+    public static BatchPaymentReader jsonLines( BufferedReader reader, ObjectMapper objectMapper ) {
+        return new BatchPaymentReader( reader, objectMapper );
+    }
+
+    @Override
+    protected BatchPaymentRowDto parse( long lineNumber, String[] values ) {
+        try {
+            return new BatchPaymentRowDto( lineNumber, Long.valueOf( values[0] ), new BigDecimal( values[1] ), null );
+        } catch ( NumberFormatException | NullPointerException e ) {
+            return error( lineNumber, "Invalid loanId or amount" );
+        }
+    }
+
+    @Override
+    protected BatchPaymentRowDto error( long lineNumber, String message ) {
+        return new BatchPaymentRowDto( lineNumber, null, null, message );
+    }
+}
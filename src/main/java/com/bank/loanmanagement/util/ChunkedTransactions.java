@@ -0,0 +1,60 @@
+package com.bank.loanmanagement.util;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Applies the rows of an uploaded file in chunks, one transaction per chunk,
+ * so memory use and transaction length do not grow with the file.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public final class ChunkedTransactions {
+
+    private ChunkedTransactions() {
+    }
+
+    /**
+     * Reads the rows a chunk at a time and applies each chunk in a transaction
+     * of its own. The results of a chunk are only handed on once it has been
+     * committed; if it fails, it has been rolled back and every row of it is
+     * reported as failed, with its parse error if it had one.
+     */
+    public static <R extends FileRow, S> void apply( Iterator<R> rows, int chunkSize, TransactionTemplate transactionTemplate,
+                                                     Function<List<R>, List<S>> applyChunk, BiFunction<R, String, S> failed,
+                                                     Consumer<List<S>> results ) {
+        List<R> chunk = new ArrayList<>( chunkSize );
+        while ( rows.hasNext() ) {
+            chunk.add( rows.next() );
+            if ( chunk.size() == chunkSize ) {
+                results.accept( applyChunk( chunk, transactionTemplate, applyChunk, failed ) );
+                chunk.clear();
+            }
+        }
+        if ( !chunk.isEmpty() ) {
+            results.accept( applyChunk( chunk, transactionTemplate, applyChunk, failed ) );
+        }
+    }
+
+    private static <R extends FileRow, S> List<S> applyChunk( List<R> chunk, TransactionTemplate transactionTemplate,
+                                                              Function<List<R>, List<S>> applyChunk, BiFunction<R, String, S> failed ) {
+        try {
+            return transactionTemplate.execute( status -> applyChunk.apply( chunk ) );
+        } catch ( RuntimeException e ) {
+            // The whole chunk has been rolled back
+            List<S> results = new ArrayList<>( chunk.size() );
+            for ( R row : chunk ) {
+                results.add( failed.apply( row, row.getError() != null ? row.getError() : "Chunk rolled back: " + e.getMessage() ) );
+            }
+            return results;
+        }
+    }
+}
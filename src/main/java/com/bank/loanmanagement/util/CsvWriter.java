@@ -0,0 +1,66 @@
+package com.bank.loanmanagement.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Writes rows as UTF-8 CSV to a response stream. Values containing commas,
+ * quotes or line breaks are quoted, nulls are written as empty values and
+ * dates as ISO-8601 instants.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public class CsvWriter {
+
+    public static final String MEDIA_TYPE = "text/csv";
+
+    private final Writer writer;
+
+    public CsvWriter( OutputStream outputStream ) {
+        this.writer = new OutputStreamWriter( outputStream, StandardCharsets.UTF_8 );
+    }
+
+    public void writeRow( Object... values ) {
+        try {
+            for ( int i = 0; i < values.length; i++ ) {
+                if ( i > 0 ) {
+                    writer.write( ',' );
+                }
+                writeValue( values[i] );
+            }
+            writer.write( '\n' );
+        } catch ( IOException e ) {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    public void flush() {
+        try {
+            writer.flush();
+        } catch ( IOException e ) {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private void writeValue( Object value ) throws IOException {
+        if ( value == null ) {
+            return;
+        }
+        String text = value instanceof Date date ? Instant.ofEpochMilli( date.getTime() ).toString() : value.toString();
+        if ( text.indexOf( ',' ) < 0 && text.indexOf( '"' ) < 0 && text.indexOf( '\n' ) < 0 && text.indexOf( '\r' ) < 0 ) {
+            writer.write( text );
+            return;
+        }
+        writer.write( '"' );
+        writer.write( text.replace( "\"", "\"\"" ) );
+        writer.write( '"' );
+    }
+}
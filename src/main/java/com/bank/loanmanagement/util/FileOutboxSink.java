@@ -0,0 +1,60 @@
+package com.bank.loanmanagement.util;
+
+import com.bank.loanmanagement.dto.OutboxEventDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events as JSON lines to a local file, e.g. for a log shipper to
+ * forward. A batch is written with one write and forced to disk before
+ * publish returns.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public class FileOutboxSink implements OutboxSink, Closeable {
+
+    private final FileChannel channel;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink( Path file, ObjectMapper objectMapper ) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        if ( directory != null ) {
+            Files.createDirectories( directory );
+        }
+        this.channel = FileChannel.open( file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND );
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish( List<OutboxEventDto> events ) {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        NdjsonWriter writer = new NdjsonWriter( lines, objectMapper );
+        events.forEach( writer::write );
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap( lines.toByteArray() );
+            while ( buffer.hasRemaining() ) {
+                channel.write( buffer );
+            }
+            channel.force( false );
+        } catch ( IOException e ) {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
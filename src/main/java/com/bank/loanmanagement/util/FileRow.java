@@ -0,0 +1,15 @@
+package com.bank.loanmanagement.util;
+
+/**
+ * A row read from an uploaded file by a LineFileReader.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public interface FileRow {
+
+    long getLine(); // Line number in the uploaded file
+
+    String getError(); // Set when the line could not be parsed
+}
@@ -0,0 +1,27 @@
+package com.bank.loanmanagement.util;
+
+import com.bank.loanmanagement.dto.OutboxEventDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps published events in memory, for tests and local development.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxEventDto> events = new ArrayList<>();
+
+    @Override
+    public synchronized void publish( List<OutboxEventDto> events ) {
+        this.events.addAll( events );
+    }
+
+    public synchronized List<OutboxEventDto> getEvents() {
+        return new ArrayList<>( events );
+    }
+}
@@ -0,0 +1,101 @@
+package com.bank.loanmanagement.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads rows lazily from an uploaded file, one line at a time. Supports CSV
+ * with the given columns (optional header) and JSON lines with fields of the
+ * same names. Lines that cannot be parsed are returned as rows carrying an
+ * error instead of aborting the whole file.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public abstract class LineFileReader<T> implements Iterator<T> {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper; // null for CSV
+    private final String[] columns;
+    private long lineNumber = 0;
+    private T next;
+
+    protected LineFileReader( BufferedReader reader, ObjectMapper objectMapper, String... columns ) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+        this.columns = columns;
+    }
+
+    // The values of a line in column order, null where a JSON field is missing
+    protected abstract T parse( long lineNumber, String[] values );
+
+    protected abstract T error( long lineNumber, String message );
+
+    @Override
+    public boolean hasNext() {
+        while ( next == null ) {
+            String line = readLine();
+            if ( line == null ) {
+                return false;
+            }
+            lineNumber++;
+            line = line.trim();
+            if ( line.isEmpty() ) continue;
+
+            // Skip the CSV header, i.e. a first line that does not start with an id
+            if ( objectMapper == null && lineNumber == 1 && !Character.isDigit( line.charAt( 0 ) ) ) continue;
+
+            next = objectMapper == null ? parseCsv( line ) : parseJson( line );
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if ( !hasNext() ) {
+            throw new NoSuchElementException();
+        }
+        T row = next;
+        next = null;
+        return row;
+    }
+
+    private T parseCsv( String line ) {
+        String[] values = line.split( "," );
+        if ( values.length != columns.length ) {
+            return error( lineNumber, "Expected " + columns.length + " columns: " + String.join( ",", columns ) );
+        }
+        for ( int i = 0; i < values.length; i++ ) {
+            values[i] = values[i].trim();
+        }
+        return parse( lineNumber, values );
+    }
+
+    private T parseJson( String line ) {
+        try {
+            JsonNode node = objectMapper.readTree( line );
+            String[] values = new String[columns.length];
+            for ( int i = 0; i < columns.length; i++ ) {
+                values[i] = node.path( columns[i] ).asText( null );
+            }
+            return parse( lineNumber, values );
+        } catch ( IOException e ) {
+            return error( lineNumber, "Malformed JSON" );
+        }
+    }
+
+    private String readLine() {
+        try {
+            return reader.readLine();
+        } catch ( IOException e ) {
+            throw new UncheckedIOException( e );
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.bank.loanmanagement.util;
+
+import com.bank.loanmanagement.dto.BulkLoanRowDto;
+import com.bank.loanmanagement.dto.LoanRequestDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.math.BigDecimal;
+
+/**
+ * Reads loan requests from an uploaded portfolio file: CSV
+ * ({@code customerId,amount,interestRate,numberOfInstallment}) or JSON lines
+ * with the fields of a LoanRequestDto.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public class LoanRequestReader extends LineFileReader<BulkLoanRowDto> {
+
+    private LoanRequestReader( BufferedReader reader, ObjectMapper objectMapper ) {
+        super( reader, objectMapper, "customerId", "amount", "interestRate", "numberOfInstallment" );
+    }
+
+    public static LoanRequestReader csv( BufferedReader reader ) {
+        return new LoanRequestReader( reader, null );
+    }
+
+    public static LoanRequestReader jsonLines( BufferedReader reader, ObjectMapper objectMapper ) {
+        return new LoanRequestReader( reader, objectMapper );
+    }
+
+    @Override
+    protected BulkLoanRowDto parse( long lineNumber, String[] values ) {
+        try {
+            LoanRequestDto request = new LoanRequestDto( Long.valueOf( values[0] ), new BigDecimal( values[1] ),
+                    new BigDecimal( values[2] ), Integer.parseInt( values[3] ) );
+            return new BulkLoanRowDto( lineNumber, request, null );
+        } catch ( NumberFormatException | NullPointerException e ) {
+            return error( lineNumber, "Invalid customerId, amount, interestRate or numberOfInstallment" );
+        }
+    }
+
+    @Override
+    protected BulkLoanRowDto error( long lineNumber, String message ) {
+        return new BulkLoanRowDto( lineNumber, null, message );
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.loanmanagement.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes objects as newline delimited JSON to a response stream.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public class NdjsonWriter {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private final OutputStream outputStream;
+    private final ObjectMapper objectMapper;
+
+    public NdjsonWriter( OutputStream outputStream, ObjectMapper objectMapper ) {
+        this.outputStream = outputStream;
+        this.objectMapper = objectMapper;
+    }
+
+    public void write( Object value ) {
+        try {
+            outputStream.write( objectMapper.writeValueAsBytes( value ) );
+            outputStream.write( '\n' );
+        } catch ( IOException e ) {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    public void flush() {
+        try {
+            outputStream.flush();
+        } catch ( IOException e ) {
+            throw new UncheckedIOException( e );
+        }
+    }
+}
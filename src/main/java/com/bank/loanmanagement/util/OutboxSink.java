@@ -0,0 +1,20 @@
+package com.bank.loanmanagement.util;
+
+import com.bank.loanmanagement.dto.OutboxEventDto;
+
+import java.util.List;
+
+/**
+ * Where the outbox relay publishes events to. The relay deletes a batch of
+ * events only after publish has returned, so an implementation must not return
+ * before the events are safely stored or delivered; throwing makes the relay
+ * try the same batch again later.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public interface OutboxSink {
+
+    void publish( List<OutboxEventDto> events );
+}
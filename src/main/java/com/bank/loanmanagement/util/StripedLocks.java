@@ -0,0 +1,43 @@
+package com.bank.loanmanagement.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A fixed set of locks shared by all keys. Work on the same key is always
+ * serialized, while work on different keys only contends when the keys hash
+ * to the same stripe.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+public class StripedLocks {
+
+    private final ReentrantLock[] locks;
+
+    public StripedLocks( int stripes ) {
+        // Rounded up to a power of two, so that a stripe is picked with a mask
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit( stripes - 1 ) << 1;
+        locks = new ReentrantLock[size];
+        for ( int i = 0; i < size; i++ ) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withLock( long key, Supplier<T> action ) {
+        ReentrantLock lock = lockFor( key );
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor( long key ) {
+        // Spread the bits, as sequential ids would otherwise only use the low stripes in order
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return locks[(int) ( hash >>> 32 ) & ( locks.length - 1 )];
+    }
+}
@@ -0,0 +1,10 @@
+-- The V8 backfill dated the entries of paid installments without a payment date at the time
+-- of the migration (payment_date = recorded_at), so a replay reported those installments as
+-- mismatched, and a repair stamped that time on them as their payment date. Such entries
+-- have no payment date now, as their installments.
+
+ALTER TABLE payment_ledger_entry ALTER COLUMN payment_date SET NULL;
+
+UPDATE payment_ledger_entry SET payment_date = NULL
+WHERE payment_date = recorded_at
+  AND installment_id IN (SELECT id FROM loan_installment WHERE is_paid = TRUE AND payment_date IS NULL);
@@ -0,0 +1,49 @@
+-- Baseline schema, as previously generated by Hibernate from the entities
+
+CREATE SEQUENCE loan_installment_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE customer (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username          VARCHAR(255),
+    name              VARCHAR(255),
+    surname           VARCHAR(255),
+    password          VARCHAR(255),
+    credit_limit      NUMERIC(38, 2),
+    used_credit_limit NUMERIC(38, 2),
+    role              VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE loan (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    loan_amount           NUMERIC(38, 2),
+    total_amount          NUMERIC(38, 2),
+    number_of_installment INTEGER NOT NULL,
+    create_date           TIMESTAMP(6),
+    is_paid               BOOLEAN NOT NULL,
+    customer_id           BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE loan_installment (
+    id           BIGINT NOT NULL,
+    amount       NUMERIC(38, 2),
+    paid_amount  NUMERIC(38, 2),
+    due_date     TIMESTAMP(6),
+    payment_date TIMESTAMP(6),
+    is_paid      BOOLEAN NOT NULL,
+    loan_id      BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE idempotency_record (
+    idempotency_key             VARCHAR(255) NOT NULL,
+    loan_id                     BIGINT,
+    number_of_installments_paid INTEGER NOT NULL,
+    total_amount_paid           NUMERIC(38, 2),
+    is_loan_fully_paid          BOOLEAN NOT NULL,
+    total_discount              NUMERIC(38, 2),
+    total_penalty               NUMERIC(38, 2),
+    create_date                 TIMESTAMP(6),
+    PRIMARY KEY (idempotency_key)
+);
@@ -0,0 +1,17 @@
+-- Indexes for the lookups done on every request. They are created before the
+-- foreign keys so that the constraints use them instead of implicit indexes.
+
+-- Authentication, findByUsername
+CREATE UNIQUE INDEX ux_customer_username ON customer (username);
+
+-- findByCustomerId and the customer listings
+CREATE INDEX ix_loan_customer_id ON loan (customer_id);
+
+-- findByLoanId; a schedule is at most 24 rows, so sorting it needs no index
+CREATE INDEX ix_loan_installment_loan_id ON loan_installment (loan_id);
+
+-- Scans for unpaid installments falling due before a date
+CREATE INDEX ix_loan_installment_is_paid_due_date ON loan_installment (is_paid, due_date);
+
+ALTER TABLE loan ADD CONSTRAINT fk_loan_customer FOREIGN KEY (customer_id) REFERENCES customer (id);
+ALTER TABLE loan_installment ADD CONSTRAINT fk_loan_installment_loan FOREIGN KEY (loan_id) REFERENCES loan (id);
@@ -1,3 +1,5 @@
+-- Default users, formerly loaded from data.sql
+
 INSERT INTO customer (name, surname, username, credit_limit, used_credit_limit, password, role)
 VALUES ('admin', 'admin', 'admin', 50000.00, 0.00, '$2a$10$ozAkVsCuSMR0ouY6rLdjPu6jzls7iGbqsn3T4fRwVPFJdszTq9YOa', 'ADMIN');
 
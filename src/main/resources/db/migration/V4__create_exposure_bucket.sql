@@ -0,0 +1,29 @@
+-- Unpaid installment totals per customer and due date, maintained as loans are
+-- created and paid, so that exposure reports do not read loan_installment
+
+CREATE SEQUENCE exposure_bucket_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE exposure_bucket (
+    id            BIGINT NOT NULL,
+    customer_id   BIGINT NOT NULL,
+    due_date      TIMESTAMP(6) NOT NULL,
+    unpaid_amount NUMERIC(38, 2) NOT NULL,
+    unpaid_count  INTEGER NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- One row per customer and due date; also serves the lookups by customer
+CREATE UNIQUE INDEX ux_exposure_bucket_customer_id_due_date ON exposure_bucket (customer_id, due_date);
+
+ALTER TABLE exposure_bucket ADD CONSTRAINT fk_exposure_bucket_customer FOREIGN KEY (customer_id) REFERENCES customer (id);
+
+-- Backfill from the installments that are unpaid today
+INSERT INTO exposure_bucket (id, customer_id, due_date, unpaid_amount, unpaid_count)
+SELECT NEXT VALUE FOR exposure_bucket_seq, unpaid.customer_id, unpaid.due_date, unpaid.unpaid_amount, unpaid.unpaid_count
+FROM (
+    SELECT l.customer_id, i.due_date, SUM(i.amount) AS unpaid_amount, COUNT(*) AS unpaid_count
+    FROM loan_installment i
+    JOIN loan l ON l.id = i.loan_id
+    WHERE i.is_paid = FALSE AND l.customer_id IS NOT NULL
+    GROUP BY l.customer_id, i.due_date
+) unpaid;
@@ -0,0 +1,4 @@
+-- Days past due and penalty accrued so far of unpaid installments, maintained by the delinquency job
+
+ALTER TABLE loan_installment ADD COLUMN days_past_due INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE loan_installment ADD COLUMN accrued_penalty NUMERIC(38, 2) DEFAULT 0 NOT NULL;
@@ -0,0 +1,10 @@
+-- Loans take their ids from a sequence instead of an identity column, so that
+-- Hibernate can insert many loans as one JDBC batch (bulk origination).
+
+ALTER TABLE loan ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE loan_seq START WITH 1 INCREMENT BY 50;
+
+-- Hibernate's pooled optimizer hands out the 50 ids up to each value it reads,
+-- so the first value read must be at least 50 above the highest existing id
+ALTER SEQUENCE loan_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM loan);
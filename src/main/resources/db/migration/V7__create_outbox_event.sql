@@ -0,0 +1,13 @@
+-- Events describing loans and payments, written in the transaction of the
+-- change they describe and deleted once the outbox relay has published them
+
+CREATE SEQUENCE outbox_event_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE outbox_event (
+    id           BIGINT NOT NULL,
+    event_type   VARCHAR(64) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    payload      VARCHAR(4000) NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,40 @@
+-- Append-only record of every installment settlement. The paid state of the
+-- installments and loans is a projection of it, which can be checked and
+-- rebuilt by replaying the ledger (PaymentLedgerService).
+
+-- Rows are inserted with NEXT VALUE FOR, one value each
+CREATE SEQUENCE payment_ledger_entry_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE payment_ledger_entry (
+    id             BIGINT NOT NULL,
+    loan_id        BIGINT NOT NULL,
+    installment_id BIGINT NOT NULL,
+    amount         NUMERIC(38, 2) NOT NULL,
+    discount       NUMERIC(38, 2) NOT NULL,
+    penalty        NUMERIC(38, 2) NOT NULL,
+    payment_date   TIMESTAMP(6) NOT NULL,
+    recorded_at    TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- The replay reads the entries of each installment in order; also serves the foreign key
+CREATE INDEX ix_payment_ledger_entry_installment_id ON payment_ledger_entry (installment_id, id);
+
+-- The ledger of a loan
+CREATE INDEX ix_payment_ledger_entry_loan_id ON payment_ledger_entry (loan_id);
+
+ALTER TABLE payment_ledger_entry ADD CONSTRAINT fk_payment_ledger_entry_installment FOREIGN KEY (installment_id) REFERENCES loan_installment (id);
+
+-- Backfill from the installments paid so far. The paid amount is the amount after the early
+-- payment discount or the late payment penalty, so the difference is one or the other.
+INSERT INTO payment_ledger_entry (id, loan_id, installment_id, amount, discount, penalty, payment_date, recorded_at)
+SELECT NEXT VALUE FOR payment_ledger_entry_seq, paid.loan_id, paid.id, paid.paid_amount,
+       CASE WHEN paid.paid_amount < paid.amount THEN paid.amount - paid.paid_amount ELSE 0 END,
+       CASE WHEN paid.paid_amount > paid.amount THEN paid.paid_amount - paid.amount ELSE 0 END,
+       COALESCE(paid.payment_date, CURRENT_TIMESTAMP), CURRENT_TIMESTAMP
+FROM (
+    SELECT i.id, i.loan_id, i.amount, COALESCE(i.paid_amount, 0) AS paid_amount, i.payment_date
+    FROM loan_installment i
+    WHERE i.is_paid = TRUE AND i.loan_id IS NOT NULL
+    ORDER BY i.id
+) paid;
@@ -0,0 +1,5 @@
+-- Ledger entries are history: they stay when their customer, loan and installments are
+-- deleted, instead of making customers with paid installments impossible to delete.
+-- loan_id and installment_id keep identifying what was paid.
+
+ALTER TABLE payment_ledger_entry DROP CONSTRAINT fk_payment_ledger_entry_installment;
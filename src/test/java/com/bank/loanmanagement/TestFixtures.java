@@ -0,0 +1,99 @@
+package com.bank.loanmanagement;
+
+import com.bank.loanmanagement.dto.LoanRequestDto;
+import com.bank.loanmanagement.model.Customer;
+import com.bank.loanmanagement.model.Loan;
+import com.bank.loanmanagement.model.LoanInstallment;
+import com.bank.loanmanagement.repository.CustomerRepository;
+import com.bank.loanmanagement.repository.LoanInstallmentRepository;
+import com.bank.loanmanagement.repository.LoanRepository;
+import com.bank.loanmanagement.service.LoanService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Customers and loans for the tests that run against the application
+ * context. Each is saved in its own transaction.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@Component
+public class TestFixtures {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanInstallmentRepository installmentRepository;
+
+    @Autowired
+    private LoanService loanService;
+
+    public Customer createCustomer( String username ) {
+        return createCustomer( username, new BigDecimal( "100000" ) );
+    }
+
+    public Customer createCustomer( String username, BigDecimal creditLimit ) {
+        Customer customer = new Customer();
+        customer.setUsername( username );
+        customer.setCreditLimit( creditLimit );
+        customer.setUsedCreditLimit( BigDecimal.ZERO );
+        return customerRepository.save( customer );
+    }
+
+    // A loan of 1000 at 0.2 in 6 installments, created by LoanService for a new customer
+    public Long createLoan( String username ) {
+        Long customerId = createCustomer( username ).getId();
+        return loanService.createLoan( new LoanRequestDto( customerId, new BigDecimal( "1000" ), new BigDecimal( "0.2" ), 6 ) ).getLoanId();
+    }
+
+    // Monthly installments of 100 due 1 to installmentCount months ago, on the first of the month
+    public Long createOverdueLoan( int installmentCount ) {
+        LocalDate firstDueDate = LocalDate.now().minusMonths( installmentCount ).withDayOfMonth( 1 );
+        List<LocalDate> dueDates = new ArrayList<>( installmentCount );
+        for ( int i = 0; i < installmentCount; i++ ) {
+            dueDates.add( firstDueDate.plusMonths( i ) );
+        }
+        return createLoan( dueDates );
+    }
+
+    // Installments of 100 due the given numbers of days ago, in that order; negative numbers are days ahead
+    public Long createLoanDueDaysAgo( int... daysAgo ) {
+        return createLoan( Arrays.stream( daysAgo ).mapToObj( days -> LocalDate.now().minusDays( days ) ).collect( Collectors.toList() ) );
+    }
+
+    // A loan without a customer, saved with its installments directly instead of through LoanService
+    private Long createLoan( List<LocalDate> dueDates ) {
+        Loan loan = new Loan();
+        loan.setLoanAmount( new BigDecimal( "100.00" ).multiply( BigDecimal.valueOf( dueDates.size() ) ) );
+        loan.setTotalAmount( loan.getLoanAmount() );
+        loan.setNumberOfInstallment( dueDates.size() );
+        loan.setCreateDate( new Date() );
+        loan = loanRepository.save( loan );
+
+        List<LoanInstallment> installments = new ArrayList<>();
+        for ( LocalDate dueDate : dueDates ) {
+            LoanInstallment installment = new LoanInstallment();
+            installment.setLoan( loan );
+            installment.setAmount( new BigDecimal( "100.00" ) );
+            installment.setDueDate( Date.from( dueDate.atStartOfDay( ZoneId.systemDefault() ).toInstant() ) );
+            installments.add( installment );
+        }
+        installmentRepository.saveAll( installments );
+        return loan.getId();
+    }
+}
@@ -0,0 +1,185 @@
+package com.bank.loanmanagement.config;
+
+import com.bank.loanmanagement.TestFixtures;
+import com.bank.loanmanagement.controller.CustomerController;
+import com.bank.loanmanagement.model.Customer;
+import com.bank.loanmanagement.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@SpringBootTest
+class AuthenticationCacheTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private AuthenticationCache authenticationCache;
+
+    @Autowired
+    private CustomerController customerController;
+
+    // Counts the tokens actually parsed and verified
+    private final JwtUtil jwtUtil = spy( new JwtUtil() );
+    private final AuthenticationCache cache = new AuthenticationCache( jwtUtil, 100, Duration.ofMinutes( 5 ) );
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testVerifiedClaims_SecondUseOfTokenIsServedFromCache() {
+        // Arrange
+        String token = jwtUtil.generateToken( user( "cached-token" ) );
+
+        // Act
+        Claims first = cache.verifiedClaims( token );
+        Claims second = cache.verifiedClaims( token );
+
+        // Assert
+        assertSame( first, second );
+        assertEquals( "cached-token", second.getSubject() );
+        verify( jwtUtil, times( 1 ) ).extractAllClaims( token );
+    }
+
+    @Test
+    void testVerifiedClaims_InvalidOrExpiredTokenIsNeverCached() {
+        // Arrange
+        String valid = jwtUtil.generateToken( user( "invalid-token" ) );
+        String tampered = valid.substring( 0, valid.length() - 2 ) + ( valid.endsWith( "AA" ) ? "BB" : "AA" );
+        String expired = token( "expired-token", new Date( System.currentTimeMillis() - 60_000 ) );
+
+        // Act & Assert: rejected every time, which it would not be if served from the cache
+        for ( int i = 0; i < 2; i++ ) {
+            assertThrows( JwtException.class, () -> cache.verifiedClaims( tampered ) );
+            assertThrows( ExpiredJwtException.class, () -> cache.verifiedClaims( expired ) );
+        }
+        verify( jwtUtil, times( 2 ) ).extractAllClaims( tampered );
+        verify( jwtUtil, times( 2 ) ).extractAllClaims( expired );
+    }
+
+    @Test
+    void testVerifiedClaims_EntryExpiresWithTheToken() throws InterruptedException {
+        // Arrange: a token valid for about two seconds (expiry times are whole seconds)
+        Date expiration = new Date( ( System.currentTimeMillis() / 1000 + 2 ) * 1000 );
+        String token = token( "short-lived-token", expiration );
+        cache.verifiedClaims( token );
+
+        // Act
+        Thread.sleep( Math.max( expiration.getTime() - System.currentTimeMillis(), 0 ) + 100 );
+
+        // Assert: verified again, and rejected, instead of served from the cache
+        assertThrows( ExpiredJwtException.class, () -> cache.verifiedClaims( token ) );
+        verify( jwtUtil, times( 2 ) ).extractAllClaims( token );
+    }
+
+    @Test
+    void testFilter_AuthenticatesRepeatedRequestsFromCache() throws Exception {
+        // Arrange
+        MyUserDetailsService userDetailsService = mock( MyUserDetailsService.class );
+        when( userDetailsService.loadUserByUsername( "filter-user" ) ).thenReturn( user( "filter-user" ) );
+        JwtRequestFilter filter = new JwtRequestFilter();
+        ReflectionTestUtils.setField( filter, "userDetailsService", userDetailsService );
+        ReflectionTestUtils.setField( filter, "jwtUtil", jwtUtil );
+        ReflectionTestUtils.setField( filter, "authenticationCache", cache );
+        String token = jwtUtil.generateToken( user( "filter-user" ) );
+
+        // Act & Assert
+        for ( int i = 0; i < 2; i++ ) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader( "Authorization", "Bearer " + token );
+            filter.doFilter( request, new MockHttpServletResponse(), new MockFilterChain() );
+
+            assertEquals( "filter-user", SecurityContextHolder.getContext().getAuthentication().getName() );
+            SecurityContextHolder.clearContext();
+        }
+        verify( jwtUtil, times( 1 ) ).extractAllClaims( token );
+        verify( userDetailsService, times( 1 ) ).loadUserByUsername( "filter-user" );
+    }
+
+    @Test
+    @WithMockUser( roles = "ADMIN" )
+    void testUpdateCustomer_EvictsCachedUser() {
+        // Arrange
+        Customer customer = fixtures.createCustomer( "evict-on-update" );
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, UserDetails> loader = username -> {
+            loads.incrementAndGet();
+            return user( username );
+        };
+        authenticationCache.userDetails( "evict-on-update", loader );
+        authenticationCache.userDetails( "evict-on-update", loader );
+
+        // Act
+        customer.setName( "Updated" );
+        customerController.updateCustomer( customer.getId(), customer );
+        authenticationCache.userDetails( "evict-on-update", loader );
+
+        // Assert: loaded once before the update and once after it
+        assertEquals( 2, loads.get() );
+    }
+
+    @Test
+    @WithMockUser( roles = "ADMIN" )
+    void testDeleteCustomer_EvictsCachedUser() {
+        // Arrange
+        Customer customer = fixtures.createCustomer( "evict-on-delete" );
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, UserDetails> loader = username -> {
+            loads.incrementAndGet();
+            return user( username );
+        };
+        authenticationCache.userDetails( "evict-on-delete", loader );
+
+        // Act
+        customerController.deleteCustomer( customer.getId() );
+        authenticationCache.userDetails( "evict-on-delete", loader );
+
+        // Assert
+        assertEquals( 2, loads.get() );
+    }
+
+    private String token( String subject, Date expiration ) {
+        return Jwts.builder()
+                .setSubject( subject )
+                .setIssuedAt( new Date() )
+                .setExpiration( expiration )
+                .signWith( SignatureAlgorithm.HS256, (String) ReflectionTestUtils.getField( jwtUtil, "SECRET_KEY" ) )
+                .compact();
+    }
+
+    private static UserDetails user( String username ) {
+        return new User( username, "password", List.of( new SimpleGrantedAuthority( "ROLE_ADMIN" ) ) );
+    }
+}
@@ -0,0 +1,66 @@
+package com.bank.loanmanagement.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the hot lookups are answered from the indexes created by the
+ * migrations instead of a table scan.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@SpringBootTest
+class QueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testFindByUsername_UsesUniqueIndex() {
+        assertPlanUses( "SELECT * FROM customer WHERE username = 'admin'", "UX_CUSTOMER_USERNAME" );
+    }
+
+    @Test
+    void testFindByCustomerId_UsesIndex() {
+        assertPlanUses( "SELECT * FROM loan WHERE customer_id = 1", "IX_LOAN_CUSTOMER_ID" );
+    }
+
+    @Test
+    void testFindByLoanId_UsesIndex() {
+        assertPlanUses( "SELECT * FROM loan_installment WHERE loan_id = 1", "IX_LOAN_INSTALLMENT_LOAN_ID" );
+    }
+
+    @Test
+    void testUnpaidDueInstallments_UsesIndex() {
+        assertPlanUses( "SELECT * FROM loan_installment WHERE is_paid = FALSE AND due_date < CURRENT_TIMESTAMP",
+                "IX_LOAN_INSTALLMENT_IS_PAID_DUE_DATE" );
+    }
+
+    @Test
+    void testExposureByCustomer_UsesIndex() {
+        assertPlanUses( "SELECT * FROM exposure_bucket WHERE customer_id = 1 AND due_date = CURRENT_TIMESTAMP",
+                "UX_EXPOSURE_BUCKET_CUSTOMER_ID_DUE_DATE" );
+    }
+
+    @Test
+    void testUsername_IsUnique() {
+        // Act & Assert
+        assertThrows( Exception.class, () -> jdbcTemplate.update(
+                "INSERT INTO customer (username, credit_limit, used_credit_limit) VALUES ('admin', 0, 0)" ) );
+    }
+
+    private void assertPlanUses( String sql, String index ) {
+        // Act
+        String plan = jdbcTemplate.queryForObject( "EXPLAIN " + sql, String.class );
+
+        // Assert
+        assertNotNull( plan );
+        assertTrue( plan.toUpperCase().contains( index ), () -> "Expected " + index + " in plan:\n" + plan );
+    }
+}
@@ -0,0 +1,99 @@
+package com.bank.loanmanagement.repository;
+
+import com.bank.loanmanagement.TestFixtures;
+import com.bank.loanmanagement.model.Customer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Enabled for the tests by hibernate.generate_statistics in src/test/resources/config
+        statistics = entityManagerFactory.unwrap( SessionFactory.class ).getStatistics();
+    }
+
+    @Test
+    void testFindById_SecondReadIsServedFromCache() {
+        // Arrange
+        Long customerId = fixtures.createCustomer( "cache-find-by-id" ).getId();
+        customerRepository.findById( customerId );
+
+        // Act
+        statistics.clear();
+        Customer customer = customerRepository.findById( customerId ).orElseThrow();
+
+        // Assert
+        assertEquals( "cache-find-by-id", customer.getUsername() );
+        assertEquals( 0, statistics.getPrepareStatementCount() );
+        assertEquals( 1, statistics.getDomainDataRegionStatistics( "customer" ).getHitCount() );
+    }
+
+    @Test
+    void testFindById_SeesUpdatesAndBulkUpdates() {
+        // Arrange
+        Customer customer = fixtures.createCustomer( "cache-updates" );
+        customerRepository.findById( customer.getId() );
+
+        // Act: an entity update, then a bulk update that bypasses the entity
+        customer.setName( "Updated" );
+        customerRepository.save( customer );
+        new TransactionTemplate( transactionManager ).executeWithoutResult(
+                status -> customerRepository.reserveCredit( customer.getId(), new BigDecimal( "250" ) ) );
+        Customer reloaded = customerRepository.findById( customer.getId() ).orElseThrow();
+
+        // Assert
+        assertEquals( "Updated", reloaded.getName() );
+        assertEquals( 0, new BigDecimal( "250" ).compareTo( reloaded.getUsedCreditLimit() ) );
+    }
+
+    @Test
+    void testFindByUsername_ResultIsCachedUntilCustomersChange() {
+        // Arrange
+        Customer customer = fixtures.createCustomer( "cache-username" );
+        customerRepository.findByUsername( "cache-username" );
+
+        // Act
+        statistics.clear();
+        customerRepository.findByUsername( "cache-username" );
+        long cachedStatements = statistics.getPrepareStatementCount();
+        customer.setSurname( "Changed" );
+        customerRepository.save( customer );
+        Customer reloaded = customerRepository.findByUsername( "cache-username" ).orElseThrow();
+
+        // Assert
+        assertEquals( 0, cachedStatements );
+        assertEquals( "Changed", reloaded.getSurname() );
+    }
+}
@@ -0,0 +1,101 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.dto.BatchPaymentResultDto;
+import com.bank.loanmanagement.dto.BatchPaymentRowDto;
+import com.bank.loanmanagement.model.Loan;
+import com.bank.loanmanagement.model.LoanInstallment;
+import com.bank.loanmanagement.repository.LoanInstallmentRepository;
+import com.bank.loanmanagement.repository.LoanRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@SpringBootTest
+class BatchPaymentServiceTest {
+
+    @InjectMocks
+    private BatchPaymentService batchPaymentService;
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private LoanInstallmentRepository installmentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ExposureService exposureService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private PaymentQuoteCache quoteCache;
+
+    @Mock
+    private PaymentLedgerService paymentLedgerService;
+
+    @Spy
+    private PaymentService paymentService = new PaymentService();
+
+    @Test
+    void testPayLoans_RowsOfSameLoanAreAppliedInOrder() {
+        // Arrange
+        Loan loan = new Loan();
+        loan.setId( 1L );
+
+        List<LoanInstallment> installments = new ArrayList<>();
+        for ( int i = 1; i <= 2; i++ ) {
+            LoanInstallment installment = new LoanInstallment();
+            installment.setId( (long) i );
+            installment.setLoan( loan );
+            installment.setAmount( new BigDecimal( "1000" ) );
+            installment.setDueDate( Date.from( LocalDate.now().atStartOfDay( ZoneId.systemDefault() ).toInstant() ) );
+            installments.add( installment );
+        }
+
+        when( loanRepository.findAllByIdForUpdate( anyCollection() ) ).thenReturn( List.of( loan ) );
+        when( installmentRepository.findByLoanIdIn( anyCollection() ) ).thenReturn( installments );
+
+        Iterator<BatchPaymentRowDto> rows = List.of(
+                new BatchPaymentRowDto( 1, 1L, new BigDecimal( "1000" ), null ),
+                new BatchPaymentRowDto( 2, 2L, new BigDecimal( "1000" ), null ),
+                new BatchPaymentRowDto( 3, null, null, "Invalid loanId or amount" ),
+                new BatchPaymentRowDto( 4, 1L, new BigDecimal( "1000" ), null ) ).iterator();
+
+        // Act
+        List<BatchPaymentResultDto> results = new ArrayList<>();
+        batchPaymentService.payLoans( rows, results::add );
+
+        // Assert
+        assertEquals( 4, results.size() );
+        assertEquals( BatchPaymentResultDto.OK, results.get( 0 ).getStatus() );
+        assertEquals( 1, results.get( 0 ).getPayment().getNumberOfInstallmentsPaid() );
+        assertEquals( "Loan not found", results.get( 1 ).getMessage() );
+        assertEquals( BatchPaymentResultDto.FAILED, results.get( 2 ).getStatus() );
+        assertTrue( results.get( 3 ).getPayment().isLoanFullyPaid() );
+        assertTrue( loan.isPaid() );
+
+        // One set-based read per chunk, regardless of the number of rows
+        verify( installmentRepository, times( 1 ) ).findByLoanIdIn( anyCollection() );
+    }
+}
@@ -0,0 +1,85 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.TestFixtures;
+import com.bank.loanmanagement.dto.BulkLoanResultDto;
+import com.bank.loanmanagement.repository.CustomerRepository;
+import com.bank.loanmanagement.repository.LoanInstallmentRepository;
+import com.bank.loanmanagement.util.LoanRequestReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@SpringBootTest
+class BulkOriginationServiceTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private BulkOriginationService bulkOriginationService;
+
+    @Autowired
+    private ExposureService exposureService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LoanInstallmentRepository installmentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testCreateLoans_ReportsEveryRowAndSharesCreditLimitAcrossChunks() {
+        // Arrange: a limit of 3000, so the third loan of the customer does not fit
+        Long customerId = fixtures.createCustomer( "bulk-origination", new BigDecimal( "3000" ) ).getId();
+        String file = String.join( "\n",
+                "{\"customerId\": " + customerId + ", \"amount\": 1000, \"interestRate\": 0.2, \"numberOfInstallment\": 6}",
+                "{\"customerId\": " + customerId + ", \"amount\": 1000, \"interestRate\": 0.2, \"numberOfInstallment\": 7}",
+                "not json",
+                "{\"customerId\": " + customerId + ", \"amount\": 2000, \"interestRate\": 0.2, \"numberOfInstallment\": 12}",
+                "{\"customerId\": " + customerId + ", \"amount\": 500, \"interestRate\": 0.2, \"numberOfInstallment\": 6}",
+                "{\"customerId\": 999999, \"amount\": 500, \"interestRate\": 0.2, \"numberOfInstallment\": 6}" );
+        List<BulkLoanResultDto> results = new ArrayList<>();
+
+        // Act: two rows per chunk
+        ReflectionTestUtils.setField( bulkOriginationService, "chunkSize", 2 );
+        try {
+            bulkOriginationService.createLoans( LoanRequestReader.jsonLines( new BufferedReader( new StringReader( file ) ), objectMapper ), results::add );
+        } finally {
+            ReflectionTestUtils.setField( bulkOriginationService, "chunkSize", 500 );
+        }
+
+        // Assert
+        assertEquals( List.of( 1L, 2L, 3L, 4L, 5L, 6L ), results.stream().map( BulkLoanResultDto::getLine ).collect( Collectors.toList() ) );
+        assertEquals( List.of( "OK", "FAILED", "FAILED", "FAILED", "OK", "FAILED" ),
+                results.stream().map( BulkLoanResultDto::getStatus ).collect( Collectors.toList() ) );
+        assertEquals( "Invalid number of installments", results.get( 1 ).getMessage() );
+        assertEquals( "Insufficient credit limit", results.get( 3 ).getMessage() );
+        assertEquals( "Customer not found", results.get( 5 ).getMessage() );
+        assertEquals( new BigDecimal( "1800.00" ), customerRepository.findById( customerId ).orElseThrow().getUsedCreditLimit() );
+        for ( BulkLoanResultDto result : List.of( results.get( 0 ), results.get( 4 ) ) ) {
+            assertNotNull( result.getLoan().getLoanId() );
+            assertEquals( 6, installmentRepository.findByLoanId( result.getLoan().getLoanId() ).size() );
+        }
+        assertEquals( new BigDecimal( "200.00" ), results.get( 0 ).getLoan().getLoanAmount() );
+        assertEquals( 12, exposureService.getCustomerExposure( customerId ).getUnpaidInstallments() );
+    }
+}
@@ -0,0 +1,155 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.TestFixtures;
+import com.bank.loanmanagement.dto.CustomerDto;
+import com.bank.loanmanagement.dto.LoanRequestDto;
+import com.bank.loanmanagement.exception.ResourceNotFoundException;
+import com.bank.loanmanagement.model.Customer;
+import com.bank.loanmanagement.model.Loan;
+import com.bank.loanmanagement.repository.CustomerRepository;
+import com.bank.loanmanagement.repository.ExposureBucketRepository;
+import com.bank.loanmanagement.repository.LoanRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@SpringBootTest
+class CustomerServiceTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private ExposureService exposureService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private ExposureBucketRepository exposureBucketRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Enabled for the tests by hibernate.generate_statistics in src/test/resources/config
+        statistics = entityManagerFactory.unwrap( SessionFactory.class ).getStatistics();
+    }
+
+    @Test
+    void testGetAllCustomers_QueryCountIndependentOfCustomerCount() {
+        // Arrange
+        addCustomersWithLoans( "n-plus-one-a", 3 );
+        long queriesBefore = countStatements( () -> customerService.getAllCustomers() );
+        addCustomersWithLoans( "n-plus-one-b", 20 );
+
+        // Act
+        long queriesAfter = countStatements( () -> customerService.getAllCustomers() );
+
+        // Assert
+        assertEquals( 1, queriesAfter );
+        assertEquals( queriesBefore, queriesAfter );
+    }
+
+    @Test
+    void testGetAllCustomers_PageQueryCountIndependentOfPageSize() {
+        // Arrange
+        addCustomersWithLoans( "n-plus-one-page", 30 );
+
+        // Act
+        long smallPage = countStatements( () -> customerService.getAllCustomers( null, 2 ) );
+        long largePage = countStatements( () -> customerService.getAllCustomers( null, 30 ) );
+
+        // Assert
+        assertEquals( 2, largePage );
+        assertEquals( smallPage, largePage );
+    }
+
+    @Test
+    void testStreamAllCustomers_LoansLoadedPerChunk() {
+        // Arrange
+        addCustomersWithLoans( "n-plus-one-stream", 10 );
+        List<CustomerDto> streamed = new ArrayList<>();
+
+        // Act
+        long queries = countStatements( () -> {
+            customerService.streamAllCustomers( streamed::add );
+            return streamed;
+        } );
+
+        // Assert: one cursor plus one loan query for the single chunk
+        assertEquals( 2, queries );
+        CustomerDto last = streamed.get( streamed.size() - 1 );
+        assertEquals( "n-plus-one-stream9", last.getUsername() );
+        assertEquals( 2, last.getLoans().size() );
+    }
+
+    @Test
+    void testDeleteCustomer_DeletesLoansAndExposure() {
+        // Arrange: a loan, so the customer has exposure buckets
+        Long customerId = fixtures.createCustomer( "delete-with-loan" ).getId();
+        Long loanId = loanService.createLoan( new LoanRequestDto( customerId, new BigDecimal( "1000" ), new BigDecimal( "0.2" ), 6 ) ).getLoanId();
+
+        // Act
+        customerService.deleteCustomer( customerId );
+
+        // Assert
+        assertFalse( customerRepository.existsById( customerId ) );
+        assertFalse( loanRepository.existsById( loanId ) );
+        assertTrue( exposureBucketRepository.findUnpaidByCustomerIdIn( List.of( customerId ) ).isEmpty() );
+        assertThrows( ResourceNotFoundException.class, () -> exposureService.getCustomerExposure( customerId ) );
+    }
+
+    private long countStatements( Supplier<?> action ) {
+        statistics.clear();
+        action.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void addCustomersWithLoans( String prefix, int count ) {
+        for ( int i = 0; i < count; i++ ) {
+            Customer customer = new Customer();
+            customer.setUsername( prefix + i );
+            customer.setCreditLimit( new BigDecimal( "50000" ) );
+            customer = customerRepository.save( customer );
+            for ( int j = 0; j < 2; j++ ) {
+                Loan loan = new Loan();
+                loan.setCustomer( customer );
+                loan.setLoanAmount( new BigDecimal( "1000" ) );
+                loan.setTotalAmount( new BigDecimal( "1200" ) );
+                loan.setNumberOfInstallment( 6 );
+                loan.setCreateDate( new Date() );
+                loanRepository.save( loan );
+            }
+        }
+    }
+}
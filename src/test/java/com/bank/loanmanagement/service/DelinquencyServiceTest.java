@@ -0,0 +1,85 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.TestFixtures;
+import com.bank.loanmanagement.dto.DelinquencyRunDto;
+import com.bank.loanmanagement.model.LoanInstallment;
+import com.bank.loanmanagement.repository.LoanInstallmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@SpringBootTest
+class DelinquencyServiceTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private DelinquencyService delinquencyService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private LoanInstallmentRepository installmentRepository;
+
+    @Test
+    void testRun_UpdatesOverdueInstallmentsOnce() {
+        // Arrange: unpaid installments due 40 and 10 days ago and in 5 days, and a paid one due 40 days ago
+        Long loanId = fixtures.createLoanDueDaysAgo( 40, 10, -5, 40 );
+        LoanInstallment paid = installmentRepository.findByLoanId( loanId ).stream()
+                .max( Comparator.comparing( LoanInstallment::getId ) ).orElseThrow();
+        paid.setPaid( true );
+        installmentRepository.save( paid );
+
+        // Act
+        DelinquencyRunDto first = delinquencyService.run();
+        DelinquencyRunDto second = delinquencyService.run();
+        List<LoanInstallment> installments = installmentRepository.findByLoanId( loanId );
+        installments.sort( Comparator.comparing( LoanInstallment::getId ) );
+
+        // Assert: penalties accrue at 0.001 per day past due, as in PaymentService
+        assertTrue( first.getOverdueInstallments() >= 2 );
+        assertTrue( first.getUpdatedInstallments() >= 2 );
+        assertEquals( 40, installments.get( 0 ).getDaysPastDue() );
+        assertEquals( new BigDecimal( "4.00" ), installments.get( 0 ).getAccruedPenalty() );
+        assertEquals( 10, installments.get( 1 ).getDaysPastDue() );
+        assertEquals( new BigDecimal( "1.00" ), installments.get( 1 ).getAccruedPenalty() );
+        assertEquals( 0, installments.get( 2 ).getDaysPastDue() );
+        assertEquals( 0, installments.get( 3 ).getDaysPastDue() );
+        assertEquals( 0, BigDecimal.ZERO.compareTo( installments.get( 3 ).getAccruedPenalty() ) );
+        // Nothing changed since the first run
+        assertEquals( first.getOverdueInstallments(), second.getOverdueInstallments() );
+        assertEquals( 0, second.getUpdatedInstallments() );
+    }
+
+    @Test
+    void testPayLoan_ClearsDelinquencyOfSettledInstallments() {
+        // Arrange: installments due 20 days ago and in 5 days, the first one delinquent
+        Long loanId = fixtures.createLoanDueDaysAgo( 20, -5 );
+        delinquencyService.run();
+
+        // Act: pays the overdue installment with its penalty, 100.00 + 2.00
+        paymentService.payLoan( loanId, new BigDecimal( "102.00" ) );
+        delinquencyService.run();
+        List<LoanInstallment> installments = installmentRepository.findByLoanId( loanId );
+        installments.sort( Comparator.comparing( LoanInstallment::getId ) );
+
+        // Assert
+        assertTrue( installments.get( 0 ).isPaid() );
+        assertEquals( 0, installments.get( 0 ).getDaysPastDue() );
+        assertEquals( 0, BigDecimal.ZERO.compareTo( installments.get( 0 ).getAccruedPenalty() ) );
+        assertFalse( installments.get( 1 ).isPaid() );
+    }
+}
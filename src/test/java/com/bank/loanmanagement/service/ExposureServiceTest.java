@@ -0,0 +1,121 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.TestFixtures;
+import com.bank.loanmanagement.dto.DaysPastDueDto;
+import com.bank.loanmanagement.dto.ExposureDto;
+import com.bank.loanmanagement.dto.LoanRequestDto;
+import com.bank.loanmanagement.model.Customer;
+import com.bank.loanmanagement.model.Loan;
+import com.bank.loanmanagement.model.LoanInstallment;
+import com.bank.loanmanagement.repository.LoanInstallmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@SpringBootTest
+class ExposureServiceTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private ExposureService exposureService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private LoanInstallmentRepository installmentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testExposure_FollowsLoansAndPayments() {
+        // Arrange
+        Long customerId = fixtures.createCustomer( "exposure-follows" ).getId();
+        Long firstLoanId = loanService.createLoan( new LoanRequestDto( customerId, new BigDecimal( "1000" ), new BigDecimal( "0.2" ), 6 ) ).getLoanId();
+        Long secondLoanId = loanService.createLoan( new LoanRequestDto( customerId, new BigDecimal( "2400" ), new BigDecimal( "0.3" ), 12 ) ).getLoanId();
+
+        // Act
+        ExposureDto afterCreation = exposureService.getCustomerExposure( customerId );
+        paymentService.payLoan( firstLoanId, new BigDecimal( "450" ) );
+        ExposureDto afterPayment = exposureService.getCustomerExposure( customerId );
+
+        // Assert: the summary rows agree with the installments
+        assertEquals( 18, afterCreation.getUnpaidInstallments() );
+        assertEquals( 0, unpaidAmount( firstLoanId, secondLoanId ).compareTo( afterPayment.getOutstandingAmount() ) );
+        assertEquals( 18 - settledCount( firstLoanId ), afterPayment.getUnpaidInstallments() );
+        assertTrue( afterPayment.getUnpaidInstallments() < 18 );
+        assertEquals( 0, afterPayment.getOverdueInstallments() );
+    }
+
+    @Test
+    void testExposure_BucketsByDaysPastDue() {
+        // Arrange: installments due in 20 days, and 10, 45 and 200 days ago
+        Customer customer = fixtures.createCustomer( "exposure-buckets" );
+        ExposureDto portfolioBefore = exposureService.getPortfolioExposure();
+        Loan loan = new Loan();
+        loan.setCustomer( customer );
+        List<LoanInstallment> installments = new ArrayList<>();
+        for ( int daysPastDue : new int[]{ -20, 10, 45, 200 } ) {
+            LoanInstallment installment = new LoanInstallment();
+            installment.setLoan( loan );
+            installment.setAmount( new BigDecimal( "100.00" ) );
+            installment.setDueDate( Date.from( LocalDate.now().minusDays( daysPastDue ).atStartOfDay( ZoneId.systemDefault() ).toInstant() ) );
+            installments.add( installment );
+        }
+
+        // Act
+        new TransactionTemplate( transactionManager ).executeWithoutResult( status -> exposureService.recordScheduled( installments ) );
+        ExposureDto exposure = exposureService.getCustomerExposure( customer.getId() );
+        ExposureDto portfolioAfter = exposureService.getPortfolioExposure();
+        List<ExposureDto> page = exposureService.getCustomerExposures( customer.getId() - 1, 1 ).getItems();
+
+        // Assert
+        assertEquals( List.of( "current", "1-30", "31-60", "61-90", "90+" ),
+                exposure.getDaysPastDue().stream().map( DaysPastDueDto::getBucket ).collect( Collectors.toList() ) );
+        assertEquals( List.of( 1L, 1L, 1L, 0L, 1L ),
+                exposure.getDaysPastDue().stream().map( DaysPastDueDto::getInstallments ).collect( Collectors.toList() ) );
+        assertEquals( new BigDecimal( "400.00" ), exposure.getOutstandingAmount() );
+        assertEquals( new BigDecimal( "300.00" ), exposure.getOverdueAmount() );
+        assertEquals( 0, portfolioBefore.getOverdueAmount().add( new BigDecimal( "300" ) ).compareTo( portfolioAfter.getOverdueAmount() ) );
+        assertEquals( exposure, page.get( 0 ) );
+    }
+
+    private BigDecimal unpaidAmount( Long... loanIds ) {
+        BigDecimal amount = BigDecimal.ZERO;
+        for ( Long loanId : loanIds ) {
+            for ( LoanInstallment installment : installmentRepository.findByLoanId( loanId ) ) {
+                if ( !installment.isPaid() ) {
+                    amount = amount.add( installment.getAmount() );
+                }
+            }
+        }
+        return amount;
+    }
+
+    private long settledCount( Long loanId ) {
+        return installmentRepository.findByLoanId( loanId ).stream().filter( LoanInstallment::isPaid ).count();
+    }
+}
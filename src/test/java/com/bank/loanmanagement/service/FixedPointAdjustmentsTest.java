@@ -0,0 +1,100 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.helpers.AdjustmentResult;
+import com.bank.loanmanagement.helpers.FixedPointAdjustments;
+import com.bank.loanmanagement.model.LoanInstallment;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the fixed-point rules against the BigDecimal rules of PaymentService
+ * on random installments, payment dates and time zones.
+ *
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@SpringBootTest
+class FixedPointAdjustmentsTest {
+
+    private static final int SAMPLES_PER_ZONE = 50_000;
+    private static final String[] ZONES = { "UTC", "Europe/Istanbul", "America/New_York", "Australia/Lord_Howe", "Pacific/Kiritimati" };
+
+    @Test
+    void testAdjustments_MatchBigDecimalRules() {
+        Random random = new Random( 20261018L );
+        TimeZone defaultZone = TimeZone.getDefault();
+        try {
+            for ( String zone : ZONES ) {
+                TimeZone timeZone = TimeZone.getTimeZone( zone );
+                // The BigDecimal rules resolve dates in the default zone as of the service's construction
+                TimeZone.setDefault( timeZone );
+                PaymentService paymentService = new PaymentService();
+
+                for ( int i = 0; i < SAMPLES_PER_ZONE; i++ ) {
+                    // Arrange
+                    long cents = randomCents( random );
+                    BigDecimal amount = BigDecimal.valueOf( cents, 2 );
+                    if ( random.nextBoolean() ) {
+                        // Same amount with a smaller scale, e.g. 1000 instead of 1000.00
+                        amount = amount.stripTrailingZeros();
+                    }
+                    LocalDate paymentDate = LocalDate.of( 2000, 1, 1 ).plusDays( random.nextInt( 40 * 365 ) );
+                    long dueMillis = paymentDate.plusDays( random.nextInt( 6001 ) - 3000 )
+                            .atStartOfDay( ZoneId.of( zone ) ).toInstant().toEpochMilli();
+                    if ( random.nextInt( 4 ) == 0 ) {
+                        // Not at midnight
+                        dueMillis += random.nextInt( 86_400_000 );
+                    }
+                    LoanInstallment installment = new LoanInstallment();
+                    installment.setAmount( amount );
+                    installment.setDueDate( new Date( dueMillis ) );
+
+                    // Act
+                    AdjustmentResult expected = paymentService.calculateAdjustedAmount( installment, paymentDate );
+                    long fixedCents = FixedPointAdjustments.toCents( amount );
+                    long daysUntilDue = FixedPointAdjustments.daysUntilDue( installment.getDueDate(), paymentDate.toEpochDay(), timeZone );
+
+                    // Assert
+                    String sample = zone + " " + amount + " paid " + paymentDate + " due " + installment.getDueDate();
+                    assertEquals( cents, fixedCents, sample );
+                    assertEquals( expected.getAdjustedAmount(), BigDecimal.valueOf( FixedPointAdjustments.adjustedCents( fixedCents, daysUntilDue ), 2 ), sample );
+                    assertEquals( expected.getDiscount(), BigDecimal.valueOf( FixedPointAdjustments.discountCents( fixedCents, daysUntilDue ), 2 ), sample );
+                    assertEquals( expected.getPenalty(), BigDecimal.valueOf( FixedPointAdjustments.penaltyCents( fixedCents, daysUntilDue ), 2 ), sample );
+                }
+            }
+        } finally {
+            TimeZone.setDefault( defaultZone );
+        }
+    }
+
+    @Test
+    void testToCents_RejectsFractionsOfACent() {
+        assertEquals( 100050, FixedPointAdjustments.toCents( new BigDecimal( "1000.500" ) ) );
+        assertThrows( ArithmeticException.class, () -> FixedPointAdjustments.toCents( new BigDecimal( "1000.005" ) ) );
+    }
+
+    @Test
+    void testFloorCents_RoundsDown() {
+        assertEquals( 100000, FixedPointAdjustments.floorCents( new BigDecimal( "1000.009" ) ) );
+        assertEquals( Long.MAX_VALUE, FixedPointAdjustments.floorCents( new BigDecimal( "1E30" ) ) );
+    }
+
+    // Mostly everyday amounts, sometimes up to a billion, with many ties in the rounding
+    private static long randomCents( Random random ) {
+        return switch ( random.nextInt( 3 ) ) {
+            case 0 -> 1 + random.nextInt( 100_000 );
+            case 1 -> ( 1 + random.nextInt( 10_000 ) ) * 10L;
+            default -> 1 + (long) ( random.nextDouble() * 100_000_000_000L );
+        };
+    }
+}
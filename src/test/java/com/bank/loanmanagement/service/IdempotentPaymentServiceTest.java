@@ -0,0 +1,91 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.dto.PaymentResponseDto;
+import com.bank.loanmanagement.exception.InvalidParameterException;
+import com.bank.loanmanagement.model.IdempotencyRecord;
+import com.bank.loanmanagement.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@SpringBootTest
+class IdempotentPaymentServiceTest {
+
+    @InjectMocks
+    private IdempotentPaymentService idempotentPaymentService = new IdempotentPaymentService( 100, Duration.ofHours( 1 ) );
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final IdempotencyRecord record = new IdempotencyRecord( "key-1", 1L, 2, new BigDecimal( "1950.00" ), false,
+            new BigDecimal( "50.00" ), BigDecimal.ZERO, new Date() );
+
+    @Test
+    void testPayLoan_RetryReplaysOriginalResponse() {
+        // Arrange
+        when( idempotencyRecordRepository.findById( "key-1" ) ).thenReturn( Optional.empty() );
+        when( paymentService.payLoanOnce( 1L, new BigDecimal( "2000" ), "key-1" ) ).thenReturn( record );
+
+        // Act
+        PaymentResponseDto first = idempotentPaymentService.payLoan( 1L, new BigDecimal( "2000" ), "key-1" );
+        PaymentResponseDto retry = idempotentPaymentService.payLoan( 1L, new BigDecimal( "2000" ), "key-1" );
+
+        // Assert
+        assertEquals( first, retry );
+        assertEquals( 2, retry.getNumberOfInstallmentsPaid() );
+        verify( paymentService, times( 1 ) ).payLoanOnce( any(), any(), any() );
+        verify( idempotencyRecordRepository, times( 1 ) ).findById( "key-1" );
+    }
+
+    @Test
+    void testPayLoan_ConcurrentDuplicateReturnsWinningResponse() {
+        // Arrange
+        when( idempotencyRecordRepository.findById( "key-1" ) ).thenReturn( Optional.empty() ).thenReturn( Optional.of( record ) );
+        when( paymentService.payLoanOnce( 1L, new BigDecimal( "2000" ), "key-1" ) )
+                .thenThrow( new DataIntegrityViolationException( "duplicate key" ) );
+
+        // Act
+        PaymentResponseDto response = idempotentPaymentService.payLoan( 1L, new BigDecimal( "2000" ), "key-1" );
+
+        // Assert
+        assertEquals( new BigDecimal( "1950.00" ), response.getTotalAmountPaid() );
+    }
+
+    @Test
+    void testPayLoan_KeyReusedForAnotherLoan() {
+        // Arrange
+        when( idempotencyRecordRepository.findById( "key-1" ) ).thenReturn( Optional.of( record ) );
+
+        // Act & Assert
+        assertThrows( InvalidParameterException.class, () -> idempotentPaymentService.payLoan( 2L, new BigDecimal( "2000" ), "key-1" ) );
+        verifyNoInteractions( paymentService );
+    }
+
+    @Test
+    void testPayLoan_WithoutKey() {
+        // Act
+        idempotentPaymentService.payLoan( 1L, new BigDecimal( "2000" ), null );
+
+        // Assert
+        verify( paymentService, times( 1 ) ).payLoan( 1L, new BigDecimal( "2000" ) );
+        verifyNoInteractions( idempotencyRecordRepository );
+    }
+}
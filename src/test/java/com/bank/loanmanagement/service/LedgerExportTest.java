@@ -0,0 +1,78 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.dto.LedgerEntryDto;
+import com.bank.loanmanagement.dto.LoanRequestDto;
+import com.bank.loanmanagement.model.Customer;
+import com.bank.loanmanagement.repository.CustomerRepository;
+import com.bank.loanmanagement.util.CsvWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@SpringBootTest
+class LedgerExportTest {
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void testExportLedger_StreamsInstallmentsWithLoanAndCustomer() {
+        // Arrange
+        Customer customer = new Customer();
+        customer.setUsername( "ledger-export" );
+        customer.setCreditLimit( new BigDecimal( "10000" ) );
+        customer.setUsedCreditLimit( BigDecimal.ZERO );
+        Long customerId = customerRepository.save( customer ).getId();
+        Long loanId = loanService.createLoan( new LoanRequestDto( customerId, new BigDecimal( "1000" ), new BigDecimal( "0.2" ), 6 ) ).getLoanId();
+
+        // Act
+        List<LedgerEntryDto> entries = new ArrayList<>();
+        loanService.exportLedger( entry -> {
+            if ( loanId.equals( entry.getLoanId() ) ) {
+                entries.add( entry );
+            }
+        } );
+
+        // Assert
+        assertEquals( 6, entries.size() );
+        for ( int i = 0; i < entries.size(); i++ ) {
+            assertEquals( customerId, entries.get( i ).getCustomerId() );
+            assertEquals( new BigDecimal( "200.00" ), entries.get( i ).getAmount() );
+            assertFalse( entries.get( i ).isPaid() );
+            if ( i > 0 ) {
+                assertTrue( entries.get( i ).getInstallmentId() > entries.get( i - 1 ).getInstallmentId() );
+            }
+        }
+    }
+
+    @Test
+    void testCsvWriter_QuotesOnlyWhenNeeded() {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CsvWriter writer = new CsvWriter( output );
+
+        // Act
+        writer.writeRow( 1L, null, new BigDecimal( "10.50" ), "a,b", "say \"hi\"", new Date( 0 ), true );
+        writer.flush();
+
+        // Assert
+        assertEquals( "1,,10.50,\"a,b\",\"say \"\"hi\"\"\",1970-01-01T00:00:00Z,true\n", output.toString( StandardCharsets.UTF_8 ) );
+    }
+}
@@ -0,0 +1,106 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.dto.LoanApplicationDto;
+import com.bank.loanmanagement.dto.LoanRequestDto;
+import com.bank.loanmanagement.dto.LoanResponseDto;
+import com.bank.loanmanagement.exception.InsufficientCreditLimitException;
+import com.bank.loanmanagement.exception.ResourceNotFoundException;
+import com.bank.loanmanagement.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@SpringBootTest
+class LoanOriginationServiceTest {
+
+    @InjectMocks
+    private LoanOriginationService loanOriginationService = new LoanOriginationService( 1, 1, 100, Duration.ofHours( 1 ) );
+
+    @Mock
+    private LoanService loanService;
+
+    private final LoanRequestDto request = new LoanRequestDto( 1L, new BigDecimal( "1000" ), new BigDecimal( "0.2" ), 6 );
+
+    @AfterEach
+    void tearDown() {
+        loanOriginationService.shutdown();
+    }
+
+    @Test
+    void testSubmit_ApplicationCompletesInBackground() throws Exception {
+        // Arrange
+        LoanResponseDto loan = new LoanResponseDto( 7L, new BigDecimal( "1200" ), new BigDecimal( "200.00" ), 6, false );
+        when( loanService.createLoan( request ) ).thenReturn( loan );
+
+        // Act
+        LoanApplicationDto accepted = loanOriginationService.submit( request );
+        LoanApplicationDto completed = awaitOutcome( accepted.getApplicationId() );
+
+        // Assert
+        assertEquals( LoanApplicationDto.PENDING, accepted.getStatus() );
+        assertEquals( LoanApplicationDto.COMPLETED, completed.getStatus() );
+        assertEquals( loan, completed.getLoan() );
+    }
+
+    @Test
+    void testSubmit_FailureIsReported() throws Exception {
+        // Arrange
+        when( loanService.createLoan( request ) ).thenThrow( new InsufficientCreditLimitException( "Insufficient credit limit" ) );
+
+        // Act
+        LoanApplicationDto outcome = awaitOutcome( loanOriginationService.submit( request ).getApplicationId() );
+
+        // Assert
+        assertEquals( LoanApplicationDto.FAILED, outcome.getStatus() );
+        assertEquals( "Insufficient credit limit", outcome.getMessage() );
+    }
+
+    @Test
+    void testSubmit_RefusedWhenQueueIsFull() throws Exception {
+        // Arrange: the only worker is busy and the queue holds one application
+        CountDownLatch workerBusy = new CountDownLatch( 1 );
+        CountDownLatch release = new CountDownLatch( 1 );
+        when( loanService.createLoan( request ) ).thenAnswer( invocation -> {
+            workerBusy.countDown();
+            release.await( 30, TimeUnit.SECONDS );
+            return null;
+        } );
+        loanOriginationService.submit( request );
+        assertTrue( workerBusy.await( 30, TimeUnit.SECONDS ) );
+        loanOriginationService.submit( request );
+
+        // Act & Assert
+        assertThrows( ServiceBusyException.class, () -> loanOriginationService.submit( request ) );
+        release.countDown();
+    }
+
+    @Test
+    void testGetApplication_UnknownId() {
+        assertThrows( ResourceNotFoundException.class, () -> loanOriginationService.getApplication( "unknown" ) );
+    }
+
+    private LoanApplicationDto awaitOutcome( String applicationId ) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos( 30 );
+        LoanApplicationDto application = loanOriginationService.getApplication( applicationId );
+        while ( LoanApplicationDto.PENDING.equals( application.getStatus() ) && System.nanoTime() < deadline ) {
+            Thread.sleep( 10 );
+            application = loanOriginationService.getApplication( applicationId );
+        }
+        return application;
+    }
+}
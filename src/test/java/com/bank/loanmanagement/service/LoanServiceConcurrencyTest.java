@@ -0,0 +1,84 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.dto.LoanRequestDto;
+import com.bank.loanmanagement.exception.InsufficientCreditLimitException;
+import com.bank.loanmanagement.model.Customer;
+import com.bank.loanmanagement.repository.CustomerRepository;
+import com.bank.loanmanagement.repository.LoanRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@SpringBootTest
+class LoanServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int REQUESTS_PER_THREAD = 5;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Test
+    void testCreateLoan_ConcurrentRequestsNeverExceedCreditLimit() throws Exception {
+        // Arrange: room for exactly 8 loans of 1000 * 1.2
+        Customer customer = new Customer();
+        customer.setUsername( "concurrent-credit" );
+        customer.setCreditLimit( new BigDecimal( "9600.00" ) );
+        customer.setUsedCreditLimit( BigDecimal.ZERO );
+        Long customerId = customerRepository.save( customer ).getId();
+
+        LoanRequestDto request = new LoanRequestDto( customerId, new BigDecimal( "1000" ), new BigDecimal( "0.2" ), 6 );
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch( 1 );
+        ExecutorService executor = Executors.newFixedThreadPool( THREADS );
+
+        // Act: hammer the same customer from all threads at once
+        List<Future<?>> futures = new ArrayList<>();
+        for ( int i = 0; i < THREADS; i++ ) {
+            futures.add( executor.submit( () -> {
+                start.await();
+                for ( int j = 0; j < REQUESTS_PER_THREAD; j++ ) {
+                    try {
+                        loanService.createLoan( request );
+                        created.incrementAndGet();
+                    } catch ( InsufficientCreditLimitException e ) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            } ) );
+        }
+        start.countDown();
+        for ( Future<?> future : futures ) {
+            future.get( 60, TimeUnit.SECONDS );
+        }
+        executor.shutdown();
+
+        // Assert
+        Customer reloaded = customerRepository.findById( customerId ).orElseThrow();
+        assertEquals( 8, created.get() );
+        assertEquals( THREADS * REQUESTS_PER_THREAD - 8, rejected.get() );
+        assertEquals( 0, reloaded.getUsedCreditLimit().compareTo( reloaded.getCreditLimit() ) );
+        assertEquals( 8, loanRepository.findByCustomerId( customerId ).size() );
+    }
+}
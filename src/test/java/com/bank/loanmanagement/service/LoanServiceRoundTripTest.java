@@ -0,0 +1,69 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.TestFixtures;
+import com.bank.loanmanagement.dto.LoanRequestDto;
+import com.bank.loanmanagement.model.LoanInstallment;
+import com.bank.loanmanagement.repository.LoanInstallmentRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@SpringBootTest
+class LoanServiceRoundTripTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private LoanInstallmentRepository installmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Enabled for the tests by hibernate.generate_statistics in src/test/resources/config
+        statistics = entityManagerFactory.unwrap( SessionFactory.class ).getStatistics();
+    }
+
+    @Test
+    void testCreateLoan_InsertsTheScheduleAsOneBatch() {
+        // Arrange
+        Long customerId = fixtures.createCustomer( "batched-schedule" ).getId();
+
+        // Act
+        statistics.clear();
+        loanService.createLoan( new LoanRequestDto( customerId, new BigDecimal( "1000" ), new BigDecimal( "0.2" ), 6 ) );
+        long sixStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        Long loanId = loanService.createLoan( new LoanRequestDto( customerId, new BigDecimal( "1000" ), new BigDecimal( "0.2" ), 24 ) ).getLoanId();
+        long twentyFourStatements = statistics.getPrepareStatementCount();
+        long twentyFourInserts = statistics.getEntityStatistics( LoanInstallment.class.getName() ).getInsertCount();
+
+        // Assert: 24 rows, but no more statements than for 6 (one at a time, 18 more inserts of installments
+        // and as many of exposure buckets), give or take a round trip for each pooled sequence whose 50 ids
+        // ran out: loan, installment, exposure bucket and outbox event
+        assertEquals( 24, twentyFourInserts );
+        assertEquals( 24, installmentRepository.findByLoanId( loanId ).size() );
+        assertTrue( twentyFourStatements <= sixStatements + 4, sixStatements + " vs " + twentyFourStatements );
+    }
+}
@@ -7,15 +7,21 @@ import com.bank.loanmanagement.exception.InvalidParameterException;
 import com.bank.loanmanagement.exception.ResourceNotFoundException;
 import com.bank.loanmanagement.model.Customer;
 import com.bank.loanmanagement.model.Loan;
+import com.bank.loanmanagement.model.LoanInstallment;
 import com.bank.loanmanagement.repository.CustomerRepository;
 import com.bank.loanmanagement.repository.LoanInstallmentRepository;
 import com.bank.loanmanagement.repository.LoanRepository;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,6 +47,12 @@ class LoanServiceTest {
     @Mock
     private LoanInstallmentRepository installmentRepository;
 
+    @Mock
+    private ExposureService exposureService;
+
+    @Mock
+    private OutboxService outboxService;
+
     @Test
     void testCreateLoan_Success() {
         // Arrange
@@ -52,6 +64,7 @@ class LoanServiceTest {
         customer.setUsedCreditLimit( new BigDecimal( "0" ) );
 
         when( customerRepository.findById( 1L ) ).thenReturn( Optional.of( customer ) );
+        when( customerRepository.reserveCredit( eq( 1L ), any( BigDecimal.class ) ) ).thenReturn( 1 );
 
         // Mock loanRepository.save() to return the loan with an assigned ID
         when( loanRepository.save( any( Loan.class ) ) ).thenAnswer( invocation -> {
@@ -67,11 +80,45 @@ class LoanServiceTest {
         assertEquals( 1L, responseDto.getLoanId() ); // Verify that loanId is set
         assertEquals( 12, responseDto.getNumberOfInstallments() );
         assertEquals( new BigDecimal( "12000.0" ), responseDto.getTotalAmount() );
-        verify( customerRepository, times( 1 ) ).save( customer );
+        verify( customerRepository, times( 1 ) ).reserveCredit( 1L, new BigDecimal( "12000.0" ) );
         verify( loanRepository, times( 1 ) ).save( any( Loan.class ) );
         verify( installmentRepository, times( 1 ) ).saveAll( anyList() );
     }
 
+    @Test
+    @SuppressWarnings( "unchecked" )
+    void testCreateLoan_InstallmentsDueOnFirstOfFollowingMonths() {
+        // Arrange
+        LoanRequestDto requestDto = new LoanRequestDto( 1L, new BigDecimal( "10000" ), new BigDecimal( "0.2" ), 6 );
+
+        Customer customer = new Customer();
+        customer.setId( 1L );
+        customer.setCreditLimit( new BigDecimal( "50000" ) );
+        customer.setUsedCreditLimit( new BigDecimal( "0" ) );
+
+        when( customerRepository.findById( 1L ) ).thenReturn( Optional.of( customer ) );
+        when( customerRepository.reserveCredit( eq( 1L ), any( BigDecimal.class ) ) ).thenReturn( 1 );
+        when( loanRepository.save( any( Loan.class ) ) ).thenAnswer( invocation -> invocation.getArgument( 0 ) );
+        ArgumentCaptor<List<LoanInstallment>> installments = ArgumentCaptor.forClass( List.class );
+
+        // Act: two loans share the schedule template of the month
+        loanService.createLoan( requestDto );
+        loanService.createLoan( requestDto );
+
+        // Assert
+        verify( installmentRepository, times( 2 ) ).saveAll( installments.capture() );
+        List<LoanInstallment> first = installments.getAllValues().get( 0 );
+        List<LoanInstallment> second = installments.getAllValues().get( 1 );
+        LocalDate dueDate = LocalDate.now().withDayOfMonth( 1 );
+        for ( int i = 0; i < 6; i++ ) {
+            dueDate = dueDate.plusMonths( 1 );
+            assertEquals( Date.from( dueDate.atStartOfDay( ZoneId.systemDefault() ).toInstant() ), first.get( i ).getDueDate() );
+            assertEquals( first.get( i ).getDueDate(), second.get( i ).getDueDate() );
+            assertNotSame( first.get( i ).getDueDate(), second.get( i ).getDueDate() );
+            assertEquals( new BigDecimal( "2000.00" ), first.get( i ).getAmount() );
+        }
+    }
+
     @Test
     void testCreateLoan_CustomerNotFound() {
         // Arrange
@@ -99,6 +146,25 @@ class LoanServiceTest {
         assertThrows( InsufficientCreditLimitException.class, () -> loanService.createLoan( requestDto ) );
     }
 
+    @Test
+    void testCreateLoan_CreditLimitUsedConcurrently() {
+        // Arrange
+        LoanRequestDto requestDto = new LoanRequestDto( 1L, new BigDecimal( "10000" ), new BigDecimal( "0.2" ), 12 );
+
+        Customer customer = new Customer();
+        customer.setId( 1L );
+        customer.setCreditLimit( new BigDecimal( "50000" ) );
+        customer.setUsedCreditLimit( new BigDecimal( "0" ) );
+
+        when( customerRepository.findById( 1L ) ).thenReturn( Optional.of( customer ) );
+        when( loanRepository.save( any( Loan.class ) ) ).thenAnswer( invocation -> invocation.getArgument( 0 ) );
+        // Another loan used up the limit after it was read
+        when( customerRepository.reserveCredit( eq( 1L ), any( BigDecimal.class ) ) ).thenReturn( 0 );
+
+        // Act & Assert
+        assertThrows( InsufficientCreditLimitException.class, () -> loanService.createLoan( requestDto ) );
+    }
+
     @Test
     void testCreateLoan_InvalidInterestRate() {
         // Arrange
@@ -130,4 +196,30 @@ class LoanServiceTest {
         // Act & Assert
         assertThrows( InvalidParameterException.class, () -> loanService.createLoan( requestDto ) );
     }
+
+    @Test
+    void testListLoans_ReadsProjectionOnly() {
+        // Arrange
+        List<LoanResponseDto> loans = List.of( new LoanResponseDto( 1L, new BigDecimal( "1200" ), new BigDecimal( "1000" ), 6, false ) );
+        when( customerRepository.existsById( 1L ) ).thenReturn( true );
+        when( loanRepository.findResponsesByCustomerId( 1L ) ).thenReturn( loans );
+
+        // Act
+        List<LoanResponseDto> response = loanService.listLoans( 1L );
+
+        // Assert
+        assertEquals( loans, response );
+        verify( customerRepository, never() ).findById( any() );
+        verify( loanRepository, never() ).findByCustomerId( any() );
+    }
+
+    @Test
+    void testListInstallments_LoanNotFound() {
+        // Arrange
+        when( loanRepository.existsById( 1L ) ).thenReturn( false );
+
+        // Act & Assert
+        assertThrows( ResourceNotFoundException.class, () -> loanService.listInstallments( 1L ) );
+        verifyNoInteractions( installmentRepository );
+    }
 }
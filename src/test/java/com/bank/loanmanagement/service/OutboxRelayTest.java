@@ -0,0 +1,124 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.TestFixtures;
+import com.bank.loanmanagement.dto.OutboxEventDto;
+import com.bank.loanmanagement.repository.OutboxEventRepository;
+import com.bank.loanmanagement.util.InMemoryOutboxSink;
+import com.bank.loanmanagement.util.OutboxSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@SpringBootTest
+class OutboxRelayTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxSink configuredSink;
+
+    private final InMemoryOutboxSink sink = new InMemoryOutboxSink();
+
+    @BeforeEach
+    void setUp() {
+        // Publish everything from now on, including the scheduled runs, to memory
+        ReflectionTestUtils.setField( outboxRelay, "sink", sink );
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField( outboxRelay, "sink", configuredSink );
+    }
+
+    @Test
+    void testRelay_PublishesLoanAndPaymentEventsInOrder() {
+        // Arrange
+        Long loanId = fixtures.createLoan( "outbox-events" );
+        paymentService.payLoan( loanId, new BigDecimal( "450" ) );
+
+        // Act
+        outboxRelay.relay();
+
+        // Assert
+        List<OutboxEventDto> events = eventsOf( loanId );
+        assertEquals( List.of( OutboxService.LOAN_CREATED, OutboxService.PAYMENT_APPLIED ),
+                events.stream().map( OutboxEventDto::getEventType ).collect( Collectors.toList() ) );
+        assertTrue( events.get( 0 ).getId() < events.get( 1 ).getId() );
+        assertTrue( events.get( 0 ).getPayload().contains( "\"loanId\":" + loanId ) );
+        assertTrue( outboxEventRepository.findAll().stream().noneMatch( event -> loanId.equals( event.getAggregateId() ) ) );
+    }
+
+    @Test
+    void testRelay_KeepsEventsWhileTheSinkFails() {
+        // Arrange
+        ReflectionTestUtils.setField( outboxRelay, "sink", (OutboxSink) events -> {
+            throw new IllegalStateException( "Sink unavailable" );
+        } );
+        Long loanId = fixtures.createLoan( "outbox-retry" );
+
+        // Act
+        assertThrows( IllegalStateException.class, () -> outboxRelay.relay() );
+        boolean keptAfterFailure = outboxEventRepository.findAll().stream().anyMatch( event -> loanId.equals( event.getAggregateId() ) );
+        ReflectionTestUtils.setField( outboxRelay, "sink", sink );
+        outboxRelay.relay();
+
+        // Assert: published once the sink is back
+        assertTrue( keptAfterFailure );
+        assertEquals( 1, eventsOf( loanId ).size() );
+    }
+
+    @Test
+    void testRelayScheduled_RetriesAfterTheSinkFails() {
+        // Arrange: the sink fails once, whichever relay, this test's or the scheduled one, reaches it first
+        AtomicInteger attempts = new AtomicInteger();
+        ReflectionTestUtils.setField( outboxRelay, "sink", (OutboxSink) events -> {
+            if ( attempts.getAndIncrement() == 0 ) {
+                throw new IllegalStateException( "Sink unavailable" );
+            }
+            sink.publish( events );
+        } );
+        Long loanId = fixtures.createLoan( "outbox-scheduled-retry" );
+
+        // Act: no other event is committed, so only the failure itself can make later runs relay again
+        for ( int run = 0; run < 3 && eventsOf( loanId ).isEmpty(); run++ ) {
+            try {
+                outboxRelay.relayScheduled();
+            } catch ( IllegalStateException e ) {
+                // The failing attempt
+            }
+        }
+
+        // Assert
+        assertTrue( attempts.get() >= 2 );
+        assertEquals( 1, eventsOf( loanId ).size() );
+    }
+
+    private List<OutboxEventDto> eventsOf( Long loanId ) {
+        return sink.getEvents().stream().filter( event -> loanId.equals( event.getLoanId() ) ).collect( Collectors.toList() );
+    }
+}
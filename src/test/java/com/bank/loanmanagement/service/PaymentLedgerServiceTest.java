@@ -0,0 +1,130 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.TestFixtures;
+import com.bank.loanmanagement.dto.LedgerReplayDto;
+import com.bank.loanmanagement.dto.LoanRequestDto;
+import com.bank.loanmanagement.dto.PaymentLedgerEntryDto;
+import com.bank.loanmanagement.dto.PaymentResponseDto;
+import com.bank.loanmanagement.model.LoanInstallment;
+import com.bank.loanmanagement.repository.LoanInstallmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@SpringBootTest
+class PaymentLedgerServiceTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private PaymentLedgerService paymentLedgerService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private LoanInstallmentRepository installmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testPayLoan_AppendsAnEntryPerSettledInstallment() {
+        // Arrange
+        Long loanId = fixtures.createLoan( "ledger-entries" );
+
+        // Act
+        PaymentResponseDto first = paymentService.payLoan( loanId, new BigDecimal( "450" ) );
+        PaymentResponseDto second = paymentService.payLoan( loanId, new BigDecimal( "250" ) );
+        List<PaymentLedgerEntryDto> entries = paymentLedgerService.getLoanLedger( loanId );
+
+        // Assert: the entries add up to the payments and match the settled installments
+        assertEquals( first.getNumberOfInstallmentsPaid() + second.getNumberOfInstallmentsPaid(), entries.size() );
+        assertEquals( 0, first.getTotalAmountPaid().add( second.getTotalAmountPaid() ).compareTo( sum( entries ) ) );
+        List<Long> settledIds = installmentRepository.findByLoanId( loanId ).stream()
+                .filter( LoanInstallment::isPaid ).map( LoanInstallment::getId ).sorted().collect( Collectors.toList() );
+        assertEquals( settledIds, entries.stream().map( PaymentLedgerEntryDto::getInstallmentId ).sorted().collect( Collectors.toList() ) );
+    }
+
+    @Test
+    void testReplay_FindsAndRepairsInstallmentsThatDifferFromTheLedger() {
+        // Arrange: a settled installment whose paid amount and date are lost
+        Long loanId = fixtures.createLoan( "ledger-replay" );
+        paymentService.payLoan( loanId, new BigDecimal( "450" ) );
+        LoanInstallment settled = installmentRepository.findByLoanId( loanId ).stream().filter( LoanInstallment::isPaid ).findFirst().orElseThrow();
+        jdbcTemplate.update( "UPDATE loan_installment SET paid_amount = 0, payment_date = NULL WHERE id = ?", settled.getId() );
+
+        // Act
+        LedgerReplayDto check = paymentLedgerService.replay( false );
+        LedgerReplayDto repair = paymentLedgerService.replay( true );
+        LedgerReplayDto recheck = paymentLedgerService.replay( false );
+
+        // Assert
+        assertTrue( check.getMismatchedInstallmentIds().contains( settled.getId() ) );
+        assertEquals( 0, check.getRepairedInstallments() );
+        assertTrue( repair.getRepairedInstallments() >= 1 );
+        assertFalse( recheck.getMismatchedInstallmentIds().contains( settled.getId() ) );
+        LoanInstallment repaired = installmentRepository.findById( settled.getId() ).orElseThrow();
+        assertEquals( 0, settled.getPaidAmount().compareTo( repaired.getPaidAmount() ) );
+        assertEquals( settled.getPaymentDate().getTime(), repaired.getPaymentDate().getTime() );
+    }
+
+    @Test
+    void testReplay_MatchesBackfilledEntriesWithoutPaymentDate() {
+        // Arrange: a paid installment and its entry without a payment date, as backfilled by the migrations
+        Long loanId = fixtures.createLoan( "ledger-undated" );
+        paymentService.payLoan( loanId, new BigDecimal( "450" ) );
+        LoanInstallment settled = installmentRepository.findByLoanId( loanId ).stream().filter( LoanInstallment::isPaid ).findFirst().orElseThrow();
+        jdbcTemplate.update( "UPDATE loan_installment SET payment_date = NULL WHERE id = ?", settled.getId() );
+        jdbcTemplate.update( "UPDATE payment_ledger_entry SET payment_date = NULL WHERE installment_id = ?", settled.getId() );
+
+        // Act
+        LedgerReplayDto check = paymentLedgerService.replay( false );
+        paymentLedgerService.replay( true );
+
+        // Assert: neither reported nor dated by a repair
+        assertFalse( check.getMismatchedInstallmentIds().contains( settled.getId() ) );
+        assertNull( installmentRepository.findById( settled.getId() ).orElseThrow().getPaymentDate() );
+    }
+
+    @Test
+    void testDeleteCustomer_KeepsTheLedgerOfTheirLoans() {
+        // Arrange: a customer with paid installments
+        Long customerId = fixtures.createCustomer( "ledger-delete" ).getId();
+        Long loanId = loanService.createLoan( new LoanRequestDto( customerId, new BigDecimal( "1000" ), new BigDecimal( "0.2" ), 6 ) ).getLoanId();
+        paymentService.payLoan( loanId, new BigDecimal( "450" ) );
+        int entries = paymentLedgerService.getLoanLedger( loanId ).size();
+
+        // Act
+        customerService.deleteCustomer( customerId );
+        LedgerReplayDto replay = paymentLedgerService.replay( false );
+
+        // Assert: the entries stay as history, and the replay passes over them
+        assertTrue( entries > 0 );
+        assertEquals( entries, jdbcTemplate.queryForObject( "SELECT COUNT(*) FROM payment_ledger_entry WHERE loan_id = ?", Integer.class, loanId ) );
+        assertTrue( replay.getInstallmentsChecked() > 0 );
+    }
+
+    private static BigDecimal sum( List<PaymentLedgerEntryDto> entries ) {
+        return entries.stream().map( PaymentLedgerEntryDto::getAmount ).reduce( BigDecimal.ZERO, BigDecimal::add );
+    }
+}
@@ -0,0 +1,107 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.TestFixtures;
+import com.bank.loanmanagement.dto.PaymentResponseDto;
+import com.bank.loanmanagement.model.LoanInstallment;
+import com.bank.loanmanagement.repository.IdempotencyRecordRepository;
+import com.bank.loanmanagement.repository.LoanInstallmentRepository;
+import com.bank.loanmanagement.repository.LoanRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@SpringBootTest
+class PaymentServiceConcurrencyTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private static final int INSTALLMENTS = 12;
+    private static final int THREADS = 24;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private IdempotentPaymentService idempotentPaymentService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanInstallmentRepository installmentRepository;
+
+    @Test
+    void testPayLoan_ConcurrentPaymentsNeverSettleAnInstallmentTwice() throws Exception {
+        // Arrange: an overdue schedule where one payment of 150 covers exactly one installment
+        Long loanId = fixtures.createOverdueLoan( INSTALLMENTS );
+        AtomicInteger settled = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch( 1 );
+        ExecutorService executor = Executors.newFixedThreadPool( THREADS );
+
+        // Act: more payments than installments, all at once
+        List<Future<?>> futures = new ArrayList<>();
+        for ( int i = 0; i < THREADS; i++ ) {
+            futures.add( executor.submit( () -> {
+                start.await();
+                PaymentResponseDto response = paymentService.payLoan( loanId, new BigDecimal( "150" ) );
+                settled.addAndGet( response.getNumberOfInstallmentsPaid() );
+                return null;
+            } ) );
+        }
+        start.countDown();
+        for ( Future<?> future : futures ) {
+            future.get( 60, TimeUnit.SECONDS );
+        }
+        executor.shutdown();
+
+        // Assert
+        List<LoanInstallment> installments = installmentRepository.findByLoanId( loanId );
+        assertEquals( INSTALLMENTS, settled.get() );
+        assertTrue( installments.stream().allMatch( LoanInstallment::isPaid ) );
+        assertTrue( loanRepository.findById( loanId ).orElseThrow().isPaid() );
+    }
+
+    @Test
+    void testPayLoan_ConcurrentRequestsWithTheSameKeyPayOnce() throws Exception {
+        // Arrange
+        Long loanId = fixtures.createOverdueLoan( INSTALLMENTS );
+        CountDownLatch start = new CountDownLatch( 1 );
+        ExecutorService executor = Executors.newFixedThreadPool( 2 );
+
+        // Act: the same request twice at once, e.g. a client retrying before the first response arrived
+        List<Future<PaymentResponseDto>> futures = new ArrayList<>();
+        for ( int i = 0; i < 2; i++ ) {
+            futures.add( executor.submit( () -> {
+                start.await();
+                return idempotentPaymentService.payLoan( loanId, new BigDecimal( "150" ), "concurrent-key" );
+            } ) );
+        }
+        start.countDown();
+        PaymentResponseDto first = futures.get( 0 ).get( 60, TimeUnit.SECONDS );
+        PaymentResponseDto second = futures.get( 1 ).get( 60, TimeUnit.SECONDS );
+        executor.shutdown();
+
+        // Assert: one payment applied, both requests answered with its outcome
+        assertEquals( first, second );
+        assertEquals( 1, first.getNumberOfInstallmentsPaid() );
+        assertEquals( 1, installmentRepository.findByLoanId( loanId ).stream().filter( LoanInstallment::isPaid ).count() );
+        assertEquals( loanId, idempotencyRecordRepository.findById( "concurrent-key" ).orElseThrow().getLoanId() );
+    }
+}
@@ -0,0 +1,125 @@
+package com.bank.loanmanagement.service;
+
+import com.bank.loanmanagement.TestFixtures;
+import com.bank.loanmanagement.dto.PaymentQuoteDto;
+import com.bank.loanmanagement.dto.PaymentResponseDto;
+import com.bank.loanmanagement.model.LoanInstallment;
+import com.bank.loanmanagement.repository.LoanInstallmentRepository;
+import com.bank.loanmanagement.repository.LoanRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Sayat Ertüfenk
+ * @since 18/10/2026
+ */
+
+@SpringBootTest
+class PaymentServiceRoundTripTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanInstallmentRepository installmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Enabled for the tests by hibernate.generate_statistics in src/test/resources/config
+        statistics = entityManagerFactory.unwrap( SessionFactory.class ).getStatistics();
+    }
+
+    @Test
+    void testPayLoan_RoundTripsIndependentOfInstallmentsSettled() {
+        // Arrange: overdue schedules, so that every installment is payable
+        Long partialLoanId = fixtures.createOverdueLoan( 12 );
+        Long fullLoanId = fixtures.createOverdueLoan( 12 );
+
+        // Act: settle a few installments of one loan and all 12 of the other
+        statistics.clear();
+        PaymentResponseDto partial = paymentService.payLoan( partialLoanId, new BigDecimal( "300" ) );
+        long partialStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        PaymentResponseDto full = paymentService.payLoan( fullLoanId, new BigDecimal( "100000" ) );
+        long fullStatements = statistics.getPrepareStatementCount();
+
+        // Assert: the full payment only adds the count and the loan update
+        assertTrue( partial.getNumberOfInstallmentsPaid() > 0 && !partial.isLoanFullyPaid() );
+        assertEquals( 12, full.getNumberOfInstallmentsPaid() );
+        assertTrue( full.isLoanFullyPaid() );
+        assertEquals( partialStatements + 2, fullStatements );
+        assertTrue( loanRepository.findById( fullLoanId ).orElseThrow().isPaid() );
+        assertTrue( installmentRepository.findByLoanId( fullLoanId ).stream().allMatch( LoanInstallment::isPaid ) );
+    }
+
+    @Test
+    void testPayLoan_RecordsMetrics() {
+        // Arrange
+        Long loanId = fixtures.createOverdueLoan( 6 );
+        Timer payments = meterRegistry.get( "loan.payment" ).tag( "idempotent", "false" ).timer();
+        DistributionSummary settled = meterRegistry.get( "loan.payment.installments.settled" ).summary();
+        long paymentsBefore = payments.count();
+        double settledBefore = settled.totalAmount();
+
+        // Act
+        paymentService.payLoan( loanId, new BigDecimal( "100000" ) );
+
+        // Assert
+        assertEquals( paymentsBefore + 1, payments.count() );
+        assertEquals( settledBefore + 6, settled.totalAmount() );
+        assertTrue( meterRegistry.get( "loan.payment.allocation" ).timer().count() > 0 );
+        assertTrue( meterRegistry.get( "hibernate.statements" ).functionCounter().count() > 0 );
+    }
+
+    @Test
+    void testQuoteLoan_MatchesPaymentAndIsCachedUntilPaid() {
+        // Arrange
+        Long loanId = fixtures.createOverdueLoan( 6 );
+
+        // Act: quote twice, pay the payoff amount, quote again
+        PaymentQuoteDto quote = paymentService.quoteLoan( loanId );
+        statistics.clear();
+        PaymentQuoteDto cachedQuote = paymentService.quoteLoan( loanId );
+        long cachedStatements = statistics.getPrepareStatementCount();
+        PaymentResponseDto payment = paymentService.payLoan( loanId, quote.getPayoffAmount() );
+        PaymentQuoteDto quoteAfterPayment = paymentService.quoteLoan( loanId );
+
+        // Assert: the quote is what the payment settles
+        assertSame( quote, cachedQuote );
+        assertEquals( 0, cachedStatements );
+        assertEquals( 6, quote.getInstallments().size() );
+        assertEquals( quote.getInstallments().size(), payment.getNumberOfInstallmentsPaid() );
+        assertEquals( quote.getPayoffAmount(), payment.getTotalAmountPaid() );
+        assertEquals( quote.getTotalPenalty(), payment.getTotalPenalty() );
+        assertTrue( quote.isLoanFullyPaidByPayoff() && payment.isLoanFullyPaid() );
+        assertTrue( quoteAfterPayment.getInstallments().isEmpty() );
+        assertEquals( 0, BigDecimal.ZERO.compareTo( quoteAfterPayment.getPayoffAmount() ) );
+    }
+}
@@ -7,6 +7,7 @@ import com.bank.loanmanagement.repository.*;
 import org.junit.jupiter.api.*;
 import org.mockito.*;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.*;
@@ -31,6 +32,21 @@ class PaymentServiceTest {
     @Mock
     private LoanInstallmentRepository installmentRepository;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ExposureService exposureService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private PaymentQuoteCache quoteCache;
+
+    @Mock
+    private PaymentLedgerService paymentLedgerService;
+
     @Test
     void testPayLoan_Success_EarlyPayment() {
         // Arrange
@@ -55,8 +71,8 @@ class PaymentServiceTest {
 
         List<LoanInstallment> installments = Arrays.asList(installment1, installment2);
 
-        when(loanRepository.findById(loanId)).thenReturn( Optional.of(loan));
-        when(installmentRepository.findByLoanId(loanId)).thenReturn(installments);
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn( Optional.of(loan));
+        when(installmentRepository.findPayableInstallments(eq(loanId), any(Date.class))).thenReturn(installments);
 
         // Act
         PaymentResponseDto response = paymentService.payLoan(loanId, amount);
@@ -74,9 +90,37 @@ class PaymentServiceTest {
         Long loanId = 1L;
         BigDecimal amount = new BigDecimal("1000");
 
-        when(loanRepository.findById(loanId)).thenReturn(Optional.empty());
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows( ResourceNotFoundException.class, () -> paymentService.payLoan(loanId, amount));
     }
+
+    @Test
+    void testPayLoan_InstallmentsBeyondHorizonKeepLoanOpen() {
+        // Arrange
+        Long loanId = 1L;
+        Loan loan = new Loan();
+        loan.setId( loanId );
+
+        LoanInstallment installment = new LoanInstallment();
+        installment.setId( 1L );
+        installment.setAmount( new BigDecimal( "1000" ) );
+        installment.setDueDate( Date.from( LocalDate.now().atStartOfDay( ZoneId.systemDefault() ).toInstant() ) );
+
+        when( loanRepository.findByIdForUpdate( loanId ) ).thenReturn( Optional.of( loan ) );
+        when( installmentRepository.findPayableInstallments( eq( loanId ), any( Date.class ) ) ).thenReturn( List.of( installment ) );
+        when( installmentRepository.countUnpaidDueFrom( eq( loanId ), any( Date.class ) ) ).thenReturn( 5L );
+
+        // Act
+        PaymentResponseDto response = paymentService.payLoan( loanId, new BigDecimal( "1000" ) );
+
+        // Assert
+        assertEquals( 1, response.getNumberOfInstallmentsPaid() );
+        assertFalse( response.isLoanFullyPaid() );
+        assertFalse( loan.isPaid() );
+        verify( installmentRepository, never() ).findByLoanId( any() );
+        verify( installmentRepository, times( 1 ) ).saveAll( List.of( installment ) );
+        verify( loanRepository, never() ).save( any() );
+    }
 }